@@ -0,0 +1,78 @@
+package de.cubbossa.tinytranslations.benchmarks;
+
+import de.cubbossa.tinytranslations.Message;
+import de.cubbossa.tinytranslations.MessageBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory of message dictionaries with many messages that are translated into many locales. Run with
+ * <code>-prof gc</code>, the allocations of {@link #createMessages()} are an upper bound for the heap that the
+ * messages retain. The retained heap is also printed once per trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DictionaryBenchmark {
+
+    @Param({"20000"})
+    public int messages;
+
+    @Param({"10"})
+    public int locales;
+
+    private Locale[] localeArray;
+    private Message message;
+
+    @Setup
+    public void setup() {
+        List<Locale> available = List.of(Locale.ENGLISH, Locale.GERMAN, Locale.GERMANY, Locale.FRENCH, Locale.FRANCE,
+                Locale.ITALIAN, Locale.JAPANESE, Locale.KOREAN, Locale.CHINESE, Locale.UK, Locale.US, Locale.CANADA);
+        localeArray = available.subList(0, Math.min(locales, available.size())).toArray(Locale[]::new);
+        message = createMessage(0);
+
+        long before = usedHeap();
+        List<Message> retained = createMessages();
+        long after = usedHeap();
+        System.out.printf("%nRetained heap of %d messages with %d locales: %d KiB%n",
+                retained.size(), localeArray.length, (after - before) / 1024);
+    }
+
+    private Message createMessage(int i) {
+        MessageBuilder builder = Message.builder("section" + i % 100 + ".message" + i);
+        for (Locale locale : localeArray) {
+            builder.withTranslation(locale, "<gray>Message " + i + " in " + locale + " with <primary>{number}</primary>.</gray>");
+        }
+        return builder.build();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    public List<Message> createMessages() {
+        List<Message> list = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            list.add(createMessage(i));
+        }
+        return list;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Message formatMessage() {
+        return message.insertNumber("number", 1);
+    }
+}
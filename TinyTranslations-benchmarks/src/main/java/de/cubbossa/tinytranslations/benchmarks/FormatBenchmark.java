@@ -0,0 +1,68 @@
+package de.cubbossa.tinytranslations.benchmarks;
+
+import de.cubbossa.tinytranslations.Message;
+import de.cubbossa.tinytranslations.MessageTranslator;
+import de.cubbossa.tinytranslations.TinyTranslations;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting a message with arguments before it is sent. Run with <code>-prof gc</code> to compare the allocations
+ * per send.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatBenchmark {
+
+    private MessageTranslator translator;
+    private Message message;
+
+    @Setup
+    public void setup() {
+        translator = TinyTranslations.application("benchmarks");
+        message = translator.messageBuilder("format")
+                .withDefault(Messages.withPlaceholders(6))
+                .withPlaceholders(Messages.placeholder(0), Messages.placeholder(1), Messages.placeholder(2))
+                .withComment("A message with six arguments.")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        translator.close();
+    }
+
+    private Message format() {
+        return message
+                .insertString(Messages.placeholder(0), "a")
+                .insertNumber(Messages.placeholder(1), 1)
+                .insertString(Messages.placeholder(2), "b")
+                .insertNumber(Messages.placeholder(3), 2)
+                .insertString(Messages.placeholder(4), "c")
+                .insertString(Messages.placeholder(5), "d");
+    }
+
+    @Benchmark
+    public Message formatSixArguments() {
+        return format();
+    }
+
+    @Benchmark
+    public Component formatStyled() {
+        return format().style(Style.style(NamedTextColor.RED));
+    }
+
+    @Benchmark
+    public Component sendSixArguments() {
+        return translator.translate(format(), Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,94 @@
+package de.cubbossa.tinytranslations.benchmarks;
+
+import de.cubbossa.tinytranslations.Message;
+import de.cubbossa.tinytranslations.MessageTranslator;
+import de.cubbossa.tinytranslations.TinyTranslations;
+import de.cubbossa.tinytranslations.TranslationKey;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static net.kyori.adventure.text.Component.translatable;
+
+/**
+ * Message lookups on a server with many plugins that all declare messages with the same common keys.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyLookupBenchmark {
+
+    private static final String[] COMMON_KEYS = {
+            "prefix", "help.header", "help.footer", "help.entry", "error.no_permission", "error.player_only",
+            "reload.success", "reload.failed"
+    };
+
+    @Param({"50"})
+    public int plugins;
+
+    private MessageTranslator global;
+    private final List<MessageTranslator> translators = new ArrayList<>();
+    private TranslationKey[] keys;
+    private String[] paths;
+    private int index;
+
+    @Setup
+    public void setup() {
+        global = TinyTranslations.application("benchmarks");
+        List<TranslationKey> keys = new ArrayList<>();
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < plugins; i++) {
+            MessageTranslator plugin = global.fork("plugin" + i);
+            translators.add(plugin);
+            for (String key : COMMON_KEYS) {
+                Message message = plugin.messageBuilder(key).withDefault("Plugin " + i + " " + key).build();
+                keys.add(message.getKey());
+                paths.add(message.getKey().asTranslationKey());
+            }
+        }
+        this.keys = keys.toArray(TranslationKey[]::new);
+        this.paths = paths.toArray(String[]::new);
+    }
+
+    @TearDown
+    public void tearDown() {
+        global.close();
+    }
+
+    private int next() {
+        index = (index + 1) % keys.length;
+        return index;
+    }
+
+    @Benchmark
+    public Message lookupTranslationKey() {
+        int i = next();
+        return translators.get(i / COMMON_KEYS.length).getMessage(keys[i]);
+    }
+
+    @Benchmark
+    public Message lookupNewTranslationKey() {
+        int i = next();
+        TranslationKey key = keys[i];
+        return translators.get(i / COMMON_KEYS.length).getMessage(TranslationKey.of(key.namespace(), key.key()));
+    }
+
+    @Benchmark
+    public Message lookupString() {
+        int i = next();
+        return translators.get(i / COMMON_KEYS.length).getMessage(paths[i]);
+    }
+
+    @Benchmark
+    public Component translateGlobal() {
+        return GlobalTranslator.render(translatable(paths[next()]), Locale.ENGLISH);
+    }
+}
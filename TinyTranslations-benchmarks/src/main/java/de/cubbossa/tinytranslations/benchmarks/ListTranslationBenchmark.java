@@ -0,0 +1,54 @@
+package de.cubbossa.tinytranslations.benchmarks;
+
+import de.cubbossa.tinytranslations.Message;
+import de.cubbossa.tinytranslations.MessageTranslator;
+import de.cubbossa.tinytranslations.benchmarks.TranslationBenchmark.Location;
+import de.cubbossa.tinytranslations.benchmarks.TranslationBenchmark.Player;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full translations of a message with a list of objects that was inserted via {@code insertList}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListTranslationBenchmark {
+
+    @Param({"1000"})
+    public int listSize;
+
+    private MessageTranslator translator;
+    private Message message;
+
+    @Setup
+    public void setup() {
+        translator = TranslationBenchmark.translator();
+        List<Player> players = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            players.add(new Player("Player" + i, new Location(i, 64, -i)));
+        }
+        message = translator.messageBuilder("list")
+                .withDefault("Players:\n<players:'\n'>- {el.name} at {el.location}</players>")
+                .build()
+                .insertList("players", players);
+    }
+
+    @TearDown
+    public void tearDown() {
+        translator.close();
+    }
+
+    @Benchmark
+    public Component translateList() {
+        return translator.translate(message, Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,27 @@
+package de.cubbossa.tinytranslations.benchmarks;
+
+final class Messages {
+
+    private Messages() {
+    }
+
+    static String placeholder(int index) {
+        return "p" + index;
+    }
+
+    /**
+     * @param placeholders The amount of placeholders in the message.
+     * @return A message of roughly the same length for every amount of placeholders, with some formatting.
+     */
+    static String withPlaceholders(int placeholders) {
+        StringBuilder builder = new StringBuilder("<gray>[<gold>Benchmark</gold>]</gray> <white>");
+        for (int i = 0; i < Integer.max(placeholders, 20); i++) {
+            if (i < placeholders) {
+                builder.append('{').append(placeholder(i)).append("} ");
+            } else {
+                builder.append("word ");
+            }
+        }
+        return builder.append("</white>").toString();
+    }
+}
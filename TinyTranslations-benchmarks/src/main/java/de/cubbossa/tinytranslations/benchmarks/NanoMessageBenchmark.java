@@ -0,0 +1,53 @@
+package de.cubbossa.tinytranslations.benchmarks;
+
+import de.cubbossa.tinytranslations.nanomessage.NanoMessageParser;
+import de.cubbossa.tinytranslations.nanomessage.NanoMessageTokenizer;
+import de.cubbossa.tinytranslations.nanomessage.compiler.NanoMessageCompiler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The stages of turning a NanoMessage string into MiniMessage, each measured on its own.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NanoMessageBenchmark {
+
+    @Param({"0", "5", "20"})
+    public int placeholders;
+
+    private String message;
+    private List<NanoMessageTokenizer.TokenValue> tokens;
+    private NanoMessageTokenizer tokenizer;
+    private NanoMessageCompiler compiler;
+
+    @Setup
+    public void setup() {
+        message = Messages.withPlaceholders(placeholders);
+        tokenizer = new NanoMessageTokenizer();
+        tokens = tokenizer.tokenize(message);
+        // not the cached compiler, every invocation has to compile
+        compiler = new NanoMessageCompiler();
+    }
+
+    @Benchmark
+    public Object tokenize() {
+        return tokenizer.tokenize(message);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return new NanoMessageParser(tokens).parse();
+    }
+
+    @Benchmark
+    public String compile() {
+        return compiler.compile(message);
+    }
+}
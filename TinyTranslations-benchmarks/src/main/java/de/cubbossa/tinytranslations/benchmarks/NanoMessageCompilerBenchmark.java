@@ -0,0 +1,38 @@
+package de.cubbossa.tinytranslations.benchmarks;
+
+import de.cubbossa.tinytranslations.nanomessage.compiler.NanoMessageCompiler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiling large NanoMessage strings, to verify that compile time grows linearly with the input size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NanoMessageCompilerBenchmark {
+
+    private static final String SEGMENT = "<red>Hello {player}, you have {a ? b : c} coins.</red> ";
+
+    @Param({"1", "8", "64"})
+    public int kilobytes;
+
+    private String message;
+    private NanoMessageCompiler compiler;
+
+    @Setup
+    public void setup() {
+        message = SEGMENT.repeat(kilobytes * 1024 / SEGMENT.length());
+        // not the cached compiler, every invocation has to compile
+        compiler = new NanoMessageCompiler();
+    }
+
+    @Benchmark
+    public String compile() {
+        return compiler.compile(message);
+    }
+}
@@ -0,0 +1,49 @@
+package de.cubbossa.tinytranslations.benchmarks;
+
+import de.cubbossa.tinytranslations.Message;
+import de.cubbossa.tinytranslations.MessageTranslator;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full translations of messages with string placeholders.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlaceholderTranslationBenchmark {
+
+    @Param({"0", "5", "20"})
+    public int placeholders;
+
+    private MessageTranslator translator;
+    private Message message;
+
+    @Setup
+    public void setup() {
+        translator = TranslationBenchmark.translator();
+        Message message = translator.messageBuilder("placeholders")
+                .withDefault(Messages.withPlaceholders(placeholders))
+                .build();
+        for (int i = 0; i < placeholders; i++) {
+            message = message.insertString(Messages.placeholder(i), "value" + i);
+        }
+        this.message = message;
+    }
+
+    @TearDown
+    public void tearDown() {
+        translator.close();
+    }
+
+    @Benchmark
+    public Component translatePlaceholders() {
+        return translator.translate(message, Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,74 @@
+package de.cubbossa.tinytranslations.benchmarks;
+
+import de.cubbossa.tinytranslations.Message;
+import de.cubbossa.tinytranslations.MessageBuilder;
+import de.cubbossa.tinytranslations.storage.MessageStorage;
+import de.cubbossa.tinytranslations.storage.properties.PropertiesMessageStorage;
+import de.cubbossa.tinytranslations.storage.yml.YamlMessageStorage;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reading locale files with many keys from the file based message storages.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StorageBenchmark {
+
+    @Param({"10000"})
+    public int keys;
+
+    private File directory;
+    private MessageStorage properties;
+    private MessageStorage yaml;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("tinytranslations-benchmark").toFile();
+        properties = new PropertiesMessageStorage(new File(directory, "properties"));
+        yaml = new YamlMessageStorage(new File(directory, "yaml"));
+
+        List<Message> messages = new ArrayList<>(keys);
+        for (int i = 0; i < keys; i++) {
+            MessageBuilder builder = Message.builder("section" + i % 100 + ".message" + i)
+                    .withDefault("<gray>Message number <primary>{number}</primary> of the benchmark.</gray>");
+            if (i % 10 == 0) {
+                builder.withComment("Comment of message " + i);
+            }
+            messages.add(builder.build());
+        }
+        properties.writeMessages(messages, Locale.ENGLISH);
+        yaml.writeMessages(messages, Locale.ENGLISH);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public Object loadProperties() {
+        return properties.readMessages(Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public Object loadYaml() {
+        return yaml.readMessages(Locale.ENGLISH);
+    }
+}
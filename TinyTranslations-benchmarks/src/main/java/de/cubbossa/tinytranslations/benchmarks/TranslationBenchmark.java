@@ -0,0 +1,85 @@
+package de.cubbossa.tinytranslations.benchmarks;
+
+import de.cubbossa.tinytranslations.Message;
+import de.cubbossa.tinytranslations.MessageTranslator;
+import de.cubbossa.tinytranslations.TinyTranslations;
+import de.cubbossa.tinytranslations.tinyobject.TinyObjectMapping;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full translations of messages via {@link MessageTranslator#translate(Message, Locale, net.kyori.adventure.text.minimessage.tag.resolver.TagResolver...)}.
+ * Translations that depend on a parameter are measured by {@link PlaceholderTranslationBenchmark} and
+ * {@link ListTranslationBenchmark}, so that each parameter only repeats the benchmarks that use it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TranslationBenchmark {
+
+    private MessageTranslator translator;
+    private Message styledMessage;
+    private Message objectMessage;
+
+    @Setup
+    public void setup() {
+        translator = translator();
+        styledMessage = translator.messageBuilder("styled")
+                .withDefault("<prefix><text>A message with <primary>styles</primary> only.</text></prefix>")
+                .build();
+
+        objectMessage = translator.messageBuilder("object")
+                .withDefault("{player} is at {player.location.x} {player.location.y} {player.location.z}, named {player.name}.")
+                .build()
+                .insertObject("player", new Player("Steve", new Location(1, 64, -20)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        translator.close();
+    }
+
+    @Benchmark
+    public Component translateStyles() {
+        return translator.translate(styledMessage, Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public Component translateObjectPaths() {
+        return translator.translate(objectMessage, Locale.ENGLISH);
+    }
+
+    /**
+     * @return A translator with the styles and object mappings that the translation benchmarks use.
+     */
+    static MessageTranslator translator() {
+        MessageTranslator translator = TinyTranslations.application("benchmarks");
+        translator.getStyleSet().put("primary", "<#ff8800>{slot}</#ff8800>");
+        translator.getStyleSet().put("prefix", "<gray>[<primary>Benchmark</primary>]</gray> {slot}");
+        translator.getStyleSet().put("text", "<white>{slot}</white>");
+        translator.add(TinyObjectMapping.builder(Player.class)
+                .withFallbackConversion(player -> Component.text(player.name()))
+                .with("name", Player::name)
+                .with("location", Player::location)
+                .build());
+        translator.add(TinyObjectMapping.builder(Location.class)
+                .withFallbackConversion(l -> Component.text(l.x() + ", " + l.y() + ", " + l.z()))
+                .with("x", Location::x)
+                .with("y", Location::y)
+                .with("z", Location::z)
+                .build());
+        return translator;
+    }
+
+    public record Player(String name, Location location) {
+    }
+
+    public record Location(int x, int y, int z) {
+    }
+}
@@ -23,8 +23,12 @@ import org.bukkit.potion.PotionEffectType;
 import org.bukkit.util.Vector;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 import static java.lang.System.Logger.Level.*;
@@ -33,6 +37,7 @@ public final class BukkitTinyTranslations extends TinyTranslations {
 
     private static final Object mutex = new Object();
     private static BukkitAudiences audiences;
+    private static volatile Plugin plugin;
     private static Metrics metrics = null;
     private static volatile MessageTranslator server;
 
@@ -61,6 +66,7 @@ public final class BukkitTinyTranslations extends TinyTranslations {
     private static void enable(Plugin plugin) {
         getLogger().fine("Enabling TinyTranslations, caused by plugin '" + plugin.getName() + "'.");
         audiences = BukkitAudiences.create(plugin);
+        BukkitTinyTranslations.plugin = plugin;
 
         if (metrics == null && plugin instanceof JavaPlugin jp) {
             getLogger().finer("Initializing metrics.");
@@ -172,6 +178,25 @@ public final class BukkitTinyTranslations extends TinyTranslations {
         audiences.sender(sender).sendMessage(message);
     }
 
+    /**
+     * Renders a message asynchronously on the {@link #getRenderExecutor() render executor} and sends it to the sender
+     * on the main thread, so that rendering heavy messages does not stall the server tick.
+     *
+     * @param sender  The sender to send the message to.
+     * @param message The message to send.
+     * @return A future that completes on the main thread once the message has been sent.
+     */
+    public static CompletableFuture<Void> sendMessageAsync(CommandSender sender, ComponentLike message) {
+        Plugin plugin = BukkitTinyTranslations.plugin;
+        if (plugin == null) {
+            throw new IllegalStateException("Sending messages asynchronously requires a plugin to enable TinyTranslations.");
+        }
+        return renderAsync(message, getLocale(sender)).thenAcceptAsync(
+                component -> sendMessage(sender, component),
+                task -> Bukkit.getScheduler().runTask(plugin, task)
+        );
+    }
+
     public static void sendMessageIfNotEmpty(CommandSender sender, ComponentLike message) {
         Component c = message.asComponent();
         if (c.equals(Component.empty())) {
@@ -180,6 +205,28 @@ public final class BukkitTinyTranslations extends TinyTranslations {
         sendMessage(sender, message);
     }
 
+    /**
+     * Sends a message to all given senders. The message is rendered once per locale instead of once per sender.
+     *
+     * @param senders The senders to send the message to.
+     * @param message The message to send.
+     */
+    public static void broadcast(Collection<? extends CommandSender> senders, ComponentLike message) {
+        Broadcast.send(senders, message, BukkitTinyTranslations::getLocale, BukkitTinyTranslations::sendMessage);
+    }
+
+    /**
+     * Sends a message to all online players and the console. The message is rendered once per locale instead of
+     * once per player.
+     *
+     * @param message The message to send.
+     */
+    public static void broadcast(ComponentLike message) {
+        List<CommandSender> senders = new ArrayList<>(Bukkit.getOnlinePlayers());
+        senders.add(Bukkit.getConsoleSender());
+        broadcast(senders, message);
+    }
+
     private static void applyBukkitObjectResolvers(MessageTranslator tr) {
         getLogger().fine("Applying Bukkit Object Resolvers to " + tr.getPath());
         tr.add(TinyObjectMapping.builder(NamespacedKey.class)
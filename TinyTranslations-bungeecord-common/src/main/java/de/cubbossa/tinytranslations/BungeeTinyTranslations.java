@@ -15,7 +15,11 @@ import org.bstats.bungeecord.Metrics;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 public class BungeeTinyTranslations extends TinyTranslations {
@@ -129,6 +133,18 @@ public class BungeeTinyTranslations extends TinyTranslations {
         audiences.sender(sender).sendMessage(message);
     }
 
+    /**
+     * Renders a message asynchronously on the {@link #getRenderExecutor() render executor} and sends it to the sender
+     * once it is rendered. The proxy has no main thread, the message is sent from the render thread.
+     *
+     * @param sender  The sender to send the message to.
+     * @param message The message to send.
+     * @return A future that completes once the message has been sent.
+     */
+    public static CompletableFuture<Void> sendMessageAsync(CommandSender sender, ComponentLike message) {
+        return renderAsync(message, getLocale(sender)).thenAccept(component -> sendMessage(sender, component));
+    }
+
     public static void sendMessageIfNotEmpty(CommandSender sender, ComponentLike message) {
         Component c = message.asComponent();
         if (c.equals(Component.empty())) {
@@ -137,6 +153,28 @@ public class BungeeTinyTranslations extends TinyTranslations {
         sendMessage(sender, message);
     }
 
+    /**
+     * Sends a message to all given senders. The message is rendered once per locale instead of once per sender.
+     *
+     * @param senders The senders to send the message to.
+     * @param message The message to send.
+     */
+    public static void broadcast(Collection<? extends CommandSender> senders, ComponentLike message) {
+        Broadcast.send(senders, message, BungeeTinyTranslations::getLocale, BungeeTinyTranslations::sendMessage);
+    }
+
+    /**
+     * Sends a message to all online players and the console. The message is rendered once per locale instead of
+     * once per player.
+     *
+     * @param message The message to send.
+     */
+    public static void broadcast(ComponentLike message) {
+        List<CommandSender> senders = new ArrayList<>(ProxyServer.getInstance().getPlayers());
+        senders.add(ProxyServer.getInstance().getConsole());
+        broadcast(senders, message);
+    }
+
     private static void applyBungeeObjectResolvers(MessageTranslator tr) {
         tr.add(TinyObjectMapping.builder(ProxiedPlayer.class)
                 .with("uuid", ProxiedPlayer::getUniqueId)
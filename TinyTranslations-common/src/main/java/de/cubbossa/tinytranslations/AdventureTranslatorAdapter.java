@@ -13,6 +13,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ApiStatus.Internal
 public class AdventureTranslatorAdapter implements Translator {
@@ -27,23 +28,74 @@ public class AdventureTranslatorAdapter implements Translator {
 
     @Getter
     private final Collection<MessageTranslator> translators;
+    /**
+     * The translators that own a message of a translation key. Messages are indexed by their full translation key
+     * and by their key without namespace, like {@link MessageTranslator#getMessage(String)} finds them. Entries might
+     * be outdated for a moment while messages change, every candidate is therefore checked again.
+     */
+    private final Map<String, Set<MessageTranslator>> index;
 
     public AdventureTranslatorAdapter() {
-        translators = new HashSet<>();
+        translators = ConcurrentHashMap.newKeySet();
+        index = new ConcurrentHashMap<>();
     }
 
-    public void register(MessageTranslator translator) {
-        if (this.translators.add(translator) && translators.size() == 1) {
-            GlobalTranslator.translator().addSource(this);
+    public synchronized void register(MessageTranslator translator) {
+        if (this.translators.add(translator)) {
+            messagesChanged(translator, translator.getMessageSet().keySet(), Collections.emptyList());
+            if (translators.size() == 1) {
+                GlobalTranslator.translator().addSource(this);
+            }
         }
     }
 
-    public void unregister(MessageTranslator translator) {
-        if (this.translators.remove(translator) && translators.isEmpty()) {
-            GlobalTranslator.translator().removeSource(this);
+    public synchronized void unregister(MessageTranslator translator) {
+        if (this.translators.remove(translator)) {
+            for (String name : index.keySet()) {
+                index.computeIfPresent(name, (k, owners) -> {
+                    owners.remove(translator);
+                    return owners.isEmpty() ? null : owners;
+                });
+            }
+            if (translators.isEmpty()) {
+                GlobalTranslator.translator().removeSource(this);
+            }
+        }
+    }
+
+    /**
+     * Updates the index after messages of a translator have been added or removed.
+     */
+    void messagesChanged(MessageTranslator translator, Collection<TranslationKey> added,
+                         Collection<TranslationKey> removed) {
+        if (!translators.contains(translator)) {
+            return;
+        }
+        for (TranslationKey key : added) {
+            for (String name : names(key)) {
+                index.compute(name, (k, owners) -> {
+                    if (owners == null) {
+                        owners = ConcurrentHashMap.newKeySet();
+                    }
+                    owners.add(translator);
+                    return owners;
+                });
+            }
+        }
+        for (TranslationKey key : removed) {
+            for (String name : names(key)) {
+                index.computeIfPresent(name, (k, owners) -> {
+                    owners.remove(translator);
+                    return owners.isEmpty() ? null : owners;
+                });
+            }
         }
     }
 
+    private static List<String> names(TranslationKey key) {
+        return key.namespace() == null ? List.of(key.key()) : List.of(key.asTranslationKey(), key.key());
+    }
+
     @Override
     public @NotNull Key name() {
         return KEY;
@@ -64,8 +116,12 @@ public class AdventureTranslatorAdapter implements Translator {
             return translators.iterator().next().translate(component, locale);
         }
 
+        Set<MessageTranslator> owners = index.get(component.key());
+        if (owners == null) {
+            return null;
+        }
         Map<MessageTranslator, Message> matched = null;
-        for (MessageTranslator translator : translators) {
+        for (MessageTranslator translator : owners) {
             Message m = translator.getMessage(component.key());
             if (m == null) {
                 continue;
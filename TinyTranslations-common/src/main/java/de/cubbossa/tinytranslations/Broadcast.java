@@ -0,0 +1,83 @@
+package de.cubbossa.tinytranslations;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.translation.GlobalTranslator;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Sends a message to many recipients at once. Recipients are grouped by their locale and the message is rendered once
+ * per locale, all recipients of a locale receive the same rendered component.
+ * <p>
+ * Platform implementations offer broadcast methods for their own recipient types, like
+ * {@code BukkitTinyTranslations#broadcast(Collection, ComponentLike)}.
+ */
+public final class Broadcast {
+
+    private static final LongAdder RENDERS = new LongAdder();
+    private static final LongAdder RENDERS_SAVED = new LongAdder();
+
+    private Broadcast() {
+    }
+
+    /**
+     * Sends a message to all audiences, each in the locale it provides via {@link Identity#LOCALE}.
+     *
+     * @param audiences The audiences to send the message to.
+     * @param message   The message to send.
+     */
+    public static void send(Collection<? extends Audience> audiences, ComponentLike message) {
+        send(audiences, message, a -> a.getOrDefault(Identity.LOCALE, TinyTranslations.FALLBACK_DEFAULT_LOCALE),
+                Audience::sendMessage);
+    }
+
+    /**
+     * Renders a message once per locale of the given recipients and passes the rendered message to every recipient.
+     *
+     * @param recipients The recipients to send the message to.
+     * @param message    The message to send.
+     * @param locale     Provides the locale of a recipient.
+     * @param send       Sends the rendered message to a recipient.
+     * @param <R>        The type of the recipients.
+     */
+    public static <R> void send(Collection<? extends R> recipients, ComponentLike message,
+                                Function<? super R, Locale> locale, BiConsumer<? super R, Component> send) {
+        if (recipients.isEmpty()) {
+            return;
+        }
+        Map<Locale, List<R>> groups = new LinkedHashMap<>();
+        for (R recipient : recipients) {
+            groups.computeIfAbsent(locale.apply(recipient), l -> new ArrayList<>()).add(recipient);
+        }
+        Component component = message.asComponent();
+        for (Map.Entry<Locale, List<R>> group : groups.entrySet()) {
+            Component rendered = GlobalTranslator.render(component, group.getKey());
+            for (R recipient : group.getValue()) {
+                send.accept(recipient, rendered);
+            }
+        }
+        RENDERS.add(groups.size());
+        RENDERS_SAVED.add(recipients.size() - groups.size());
+    }
+
+    /**
+     * @return The amount of renders that broadcasts performed since startup.
+     */
+    public static long renders() {
+        return RENDERS.sum();
+    }
+
+    /**
+     * @return The amount of renders that broadcasts saved since startup, compared to rendering the message for each
+     * recipient separately.
+     */
+    public static long rendersSaved() {
+        return RENDERS_SAVED.sum();
+    }
+}
@@ -0,0 +1,125 @@
+package de.cubbossa.tinytranslations;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * An immutable mapping of locales to translations. Translations are stored in an array that is indexed by the id
+ * that the {@link LocaleRegistry} assigned to the locale, which takes a fraction of the memory of a hash map and
+ * can be shared by all copies of a message.
+ */
+final class Dictionary extends AbstractMap<Locale, String> {
+
+    static final Dictionary EMPTY = new Dictionary(new String[0], 0);
+
+    // translations by locale id, null for locales without translation
+    private final String[] translations;
+    private final int size;
+
+    private Dictionary(String[] translations, int size) {
+        this.translations = translations;
+        this.size = size;
+    }
+
+    /**
+     * @return A dictionary with all entries of the given map. Entries with null translations are skipped.
+     */
+    static Dictionary of(Map<Locale, String> map) {
+        if (map instanceof Dictionary dictionary) {
+            return dictionary;
+        }
+        String[] translations = EMPTY.translations;
+        int size = 0;
+        for (Entry<Locale, String> e : map.entrySet()) {
+            if (e.getValue() == null) {
+                continue;
+            }
+            int id = LocaleRegistry.id(e.getKey());
+            if (id >= translations.length) {
+                translations = Arrays.copyOf(translations, id + 1);
+            }
+            if (translations[id] == null) {
+                size++;
+            }
+            translations[id] = e.getValue();
+        }
+        return size == 0 ? EMPTY : new Dictionary(translations, size);
+    }
+
+    static Dictionary of(Locale locale, String translation) {
+        return EMPTY.with(locale, translation);
+    }
+
+    /**
+     * @return A dictionary with all entries of this dictionary and the given translation, or without the locale if the
+     * translation is null.
+     */
+    Dictionary with(Locale locale, @Nullable String translation) {
+        int id = translation == null ? LocaleRegistry.find(locale) : LocaleRegistry.id(locale);
+        String present = id >= 0 && id < translations.length ? translations[id] : null;
+        if (Objects.equals(present, translation)) {
+            return this;
+        }
+        String[] copy = Arrays.copyOf(translations, Math.max(translations.length, id + 1));
+        copy[id] = translation;
+        int size = this.size + (present == null ? 1 : translation == null ? -1 : 0);
+        return size == 0 ? EMPTY : new Dictionary(copy, size);
+    }
+
+    @Override
+    public String get(Object key) {
+        int id = LocaleRegistry.find(key);
+        return id >= 0 && id < translations.length ? translations[id] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public @NotNull Set<Entry<Locale, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Entry<Locale, String>> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    private int advance(int from) {
+                        while (from < translations.length && translations[from] == null) {
+                            from++;
+                        }
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < translations.length;
+                    }
+
+                    @Override
+                    public Entry<Locale, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<Locale, String> entry = new SimpleImmutableEntry<>(LocaleRegistry.locale(next), translations[next]);
+                        next = advance(next + 1);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
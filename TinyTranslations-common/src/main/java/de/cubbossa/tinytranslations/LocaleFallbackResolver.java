@@ -0,0 +1,147 @@
+package de.cubbossa.tinytranslations;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which translations of a message are used if the dictionary does not contain the requested locale.
+ * <p>
+ * The fallback chain of a locale starts with the locale itself. Each locale is followed by its explicit fallback,
+ * if one has been set via {@link #setFallback(Locale, Locale)}, or otherwise by the locale without variant and then
+ * without country. Explicit fallbacks to a locale that is already part of the chain are skipped in favor of the
+ * implicit fallback. The chain always ends with {@link TinyTranslations#FALLBACK_DEFAULT_LOCALE}.
+ * <pre>
+ * de_DE_bavarian -> de_DE -> de -> en
+ * de_AT -> de_DE -> de -> en, with fallback de_AT -> de_DE
+ * de_DE -> de_AT -> de -> en, with fallbacks de_DE -> de_AT and de_AT -> de_DE
+ * </pre>
+ * Chains are computed once per locale and cached until fallbacks of this resolver or any parent resolver change.
+ * Every translator has its own resolver, which inherits the fallbacks of the resolver of the parent translator.
+ */
+public final class LocaleFallbackResolver {
+
+    private final @Nullable LocaleFallbackResolver parent;
+    private final Runnable onChange;
+    private final Map<Locale, Locale> fallbacks = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile Chains chains = new Chains(0, new ConcurrentHashMap<>());
+
+    /**
+     * Creates a resolver without parent that is not bound to any translator.
+     */
+    public LocaleFallbackResolver() {
+        this(null, () -> {
+        });
+    }
+
+    LocaleFallbackResolver(@Nullable LocaleFallbackResolver parent, Runnable onChange) {
+        this.parent = parent;
+        this.onChange = onChange;
+    }
+
+    /**
+     * Makes a locale fall back to another locale instead of the locale without variant or country.
+     *
+     * @param locale   The locale that has no translation.
+     * @param fallback The locale to use instead. Its own fallbacks are followed afterwards.
+     */
+    public void setFallback(@NotNull Locale locale, @NotNull Locale fallback) {
+        fallbacks.put(locale, fallback);
+        changed();
+    }
+
+    /**
+     * Removes an explicit fallback of this resolver. Fallbacks inherited from parent resolvers still apply.
+     */
+    public void removeFallback(@NotNull Locale locale) {
+        if (fallbacks.remove(locale) != null) {
+            changed();
+        }
+    }
+
+    /**
+     * @return The explicit fallbacks of this resolver, not including the fallbacks of parent resolvers.
+     */
+    public Map<Locale, Locale> getFallbacks() {
+        return Collections.unmodifiableMap(fallbacks);
+    }
+
+    private void changed() {
+        version.incrementAndGet();
+        onChange.run();
+    }
+
+    // increases whenever fallbacks of this resolver or any parent change
+    private long version() {
+        return parent == null ? version.get() : version.get() + parent.version();
+    }
+
+    /**
+     * @return The immutable list of locales to look up for the given locale, in order.
+     */
+    public List<Locale> fallbackChain(@Nullable Locale locale) {
+        if (locale == null) {
+            locale = TinyTranslations.FALLBACK_DEFAULT_LOCALE;
+        }
+        long version = version();
+        Chains chains = this.chains;
+        if (chains.version() != version) {
+            chains = new Chains(version, new ConcurrentHashMap<>());
+            this.chains = chains;
+        }
+        return chains.chains().computeIfAbsent(locale, this::computeChain);
+    }
+
+    /**
+     * @return The translation of the first locale of the fallback chain that the dictionary contains or null if it
+     * contains none of them.
+     */
+    public @Nullable String translation(Map<Locale, String> dictionary, @Nullable Locale locale) {
+        for (Locale l : fallbackChain(locale)) {
+            String translation = dictionary.get(l);
+            if (translation != null) {
+                return translation;
+            }
+        }
+        return null;
+    }
+
+    private List<Locale> computeChain(Locale locale) {
+        Set<Locale> chain = new LinkedHashSet<>();
+        Locale l = locale;
+        while (l != null && chain.add(l)) {
+            Locale fallback = explicitFallback(l);
+            // fallback loops like de_AT -> de_DE -> de_AT continue with the implicit fallback of the last locale
+            l = fallback != null && !chain.contains(fallback) ? fallback : implicitFallback(l);
+        }
+        chain.add(TinyTranslations.FALLBACK_DEFAULT_LOCALE);
+        return List.copyOf(chain);
+    }
+
+    private @Nullable Locale explicitFallback(Locale locale) {
+        for (LocaleFallbackResolver r = this; r != null; r = r.parent) {
+            Locale fallback = r.fallbacks.get(locale);
+            if (fallback != null) {
+                return fallback;
+            }
+        }
+        return null;
+    }
+
+    private static @Nullable Locale implicitFallback(Locale locale) {
+        if (!locale.getVariant().isEmpty()) {
+            return new Locale(locale.getLanguage(), locale.getCountry());
+        }
+        if (!locale.getCountry().isEmpty()) {
+            return new Locale(locale.getLanguage());
+        }
+        return null;
+    }
+
+    private record Chains(long version, Map<Locale, List<Locale>> chains) {
+    }
+}
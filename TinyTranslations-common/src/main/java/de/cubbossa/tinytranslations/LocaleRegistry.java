@@ -0,0 +1,53 @@
+package de.cubbossa.tinytranslations;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns small consecutive ids to locales, so that translations can be stored in arrays indexed by locale instead
+ * of maps. Ids are never released, there are only as many ids as locales that messages have been translated into.
+ */
+final class LocaleRegistry {
+
+    private static final Map<Locale, Integer> IDS = new ConcurrentHashMap<>();
+    private static volatile Locale[] locales = new Locale[0];
+
+    private LocaleRegistry() {
+    }
+
+    /**
+     * @return The id of the locale, registering the locale if it has no id yet.
+     */
+    static int id(Locale locale) {
+        Integer id = IDS.get(locale);
+        return id != null ? id : register(locale);
+    }
+
+    /**
+     * @return The id of the locale or -1 if the locale has no id. Unlike {@link #id(Locale)} this never registers
+     * locales, so that lookups with arbitrary locales do not grow the registry.
+     */
+    static int find(Object locale) {
+        Integer id = IDS.get(locale);
+        return id == null ? -1 : id;
+    }
+
+    static Locale locale(int id) {
+        return locales[id];
+    }
+
+    private static synchronized int register(Locale locale) {
+        Integer id = IDS.get(locale);
+        if (id != null) {
+            return id;
+        }
+        Locale[] registered = Arrays.copyOf(locales, locales.length + 1);
+        registered[locales.length] = locale;
+        // publish the locale before its id, so that every id that can be found resolves to its locale
+        locales = registered;
+        IDS.put(locale, registered.length - 1);
+        return registered.length - 1;
+    }
+}
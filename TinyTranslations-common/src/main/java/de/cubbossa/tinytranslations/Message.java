@@ -135,7 +135,7 @@ public interface Message extends ComponentLike, Cloneable, Comparable<Message>,
 
     /**
      * @return The translation dictionary for this message, mapping locale to translation in NanoMessage format.
-     * A reference is being returned, changes affect this message directly.
+     * Messages are immutable, the dictionary is read only. Use {@link #dictionary(Map)} to change translations.
      */
     @Deprecated(forRemoval = true, since = "4.5.0")
     @ApiStatus.ScheduledForRemoval(inVersion = "5.0.0")
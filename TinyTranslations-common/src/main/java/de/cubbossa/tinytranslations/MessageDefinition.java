@@ -0,0 +1,37 @@
+package de.cubbossa.tinytranslations;
+
+import de.cubbossa.tinytranslations.Message.PlaceholderDescription;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The parts of a message that its translator declares and that stay the same for every formatted copy of the
+ * message: key, translations, placeholder descriptions and comment. Definitions are immutable and shared by all
+ * copies, so that formatting a message only creates the small {@link MessageImpl} that holds the arguments.
+ */
+record MessageDefinition(TranslationKey key, Dictionary dictionary,
+                         List<PlaceholderDescription> placeholderDescriptions, @Nullable String comment) {
+
+    MessageDefinition(TranslationKey key, String fallback) {
+        this(key, Dictionary.of(TinyTranslations.FALLBACK_DEFAULT_LOCALE, fallback), List.of(), null);
+    }
+
+    MessageDefinition withKey(TranslationKey key) {
+        return Objects.equals(this.key, key) ? this : new MessageDefinition(key, dictionary, placeholderDescriptions, comment);
+    }
+
+    MessageDefinition withDictionary(Dictionary dictionary) {
+        return new MessageDefinition(key, dictionary, placeholderDescriptions, comment);
+    }
+
+    MessageDefinition withPlaceholderDescriptions(Collection<PlaceholderDescription> placeholderDescriptions) {
+        return new MessageDefinition(key, dictionary, List.copyOf(placeholderDescriptions), comment);
+    }
+
+    MessageDefinition withComment(@Nullable String comment) {
+        return new MessageDefinition(key, dictionary, placeholderDescriptions, comment);
+    }
+}
@@ -3,7 +3,6 @@ package de.cubbossa.tinytranslations;
 import de.cubbossa.tinytranslations.tinyobject.InsertedObject;
 import de.cubbossa.tinytranslations.tinyobject.TinyObjectMapping;
 import lombok.Getter;
-import lombok.Setter;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.ComponentLike;
 import net.kyori.adventure.text.TranslatableComponent;
@@ -16,53 +15,51 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
-@Getter
-@Setter
+/**
+ * A message as it is being sent: the shared {@link MessageDefinition} of the message and the style, children and
+ * arguments of this copy. All fields are immutable, so copies only consist of a few references.
+ */
 class MessageImpl implements Message {
 
+    private static final List<TranslationArgument> ARGUMENTS = Collections.emptyList();
+
     @Getter
-    private final TranslationKey key;
-    private final List<TranslationArgument> arguments = Collections.emptyList();
-    private final Collection<TagResolver> resolvers = new LinkedList<>();
+    private MessageDefinition definition;
     private Style style = Style.empty();
-    private List<Component> children = new ArrayList<>();
-    private Map<Locale, String> dictionary;
-    private String fallback;
-
-    private final Map<String, InsertedObject> insertedObjects = new HashMap<>();
-
-    private Collection<PlaceholderDescription> placeholderDescriptions;
-    private String comment;
+    private List<Component> children = List.of();
+    private @Nullable String fallback;
+    @Getter
+    private Scope scope = Scope.EMPTY;
 
     public MessageImpl(TranslationKey key) {
         this(key, key.asTranslationKey());
     }
 
     public MessageImpl(TranslationKey key, String fallback) {
-        this.key = key;
-        this.dictionary = new ConcurrentHashMap<>();
-        this.dictionary.put(TinyTranslations.FALLBACK_DEFAULT_LOCALE, fallback);
-
-        this.placeholderDescriptions = new LinkedList<>();
+        this.definition = new MessageDefinition(key, fallback);
     }
 
     public MessageImpl(TranslationKey key, MessageImpl other) {
-        this.key = key;
-        this.style = other.style.color(other.style.color());
-        this.children = other.children().stream().map(c -> c.children(c.children())).toList();
-        this.dictionary = new HashMap<>(other.dictionary);
+        this.definition = other.definition.withKey(key);
+        this.style = other.style;
+        this.children = other.children;
         this.fallback = other.fallback;
-        this.placeholderDescriptions = new LinkedList<>(other.placeholderDescriptions);
-        this.comment = other.comment;
-        this.resolvers.addAll(other.resolvers);
-        this.insertedObjects.putAll(other.insertedObjects);
+        this.scope = other.scope;
+    }
+
+    private MessageImpl copy() {
+        return new MessageImpl(definition.key(), this);
+    }
+
+    @Override
+    public TranslationKey getKey() {
+        return definition.key();
     }
 
     @Override
     public Map<String, InsertedObject> insertedObjects() {
-        return insertedObjects;
+        return scope.objects();
     }
 
     @Override
@@ -82,20 +79,29 @@ class MessageImpl implements Message {
 
     @Override
     public Collection<TagResolver> getResolvers() {
-        return List.copyOf(resolvers);
+        return scope.resolvers();
     }
 
     @Override
     public Message formatted(TagResolver... resolver) {
-        MessageImpl message = new MessageImpl(key, this);
-        message.resolvers.addAll(List.of(resolver));
+        MessageImpl message = copy();
+        message.scope = scope.resolvers(resolver);
         return message;
     }
 
     @Override
     public <T> Message insertObject(@NotNull String key, T obj, Collection<TinyObjectMapping> resolvers) {
-        MessageImpl message = new MessageImpl(this.key, this);
-        message.insertedObjects.put(key, new InsertedObject(key, obj, resolvers));
+        MessageImpl message = copy();
+        message.scope = scope.object(new InsertedObject(key, obj, resolvers));
+        return message;
+    }
+
+    /**
+     * @return A copy of this message whose resolvers and objects are followed by the ones of the given scope.
+     */
+    Message within(Scope outer) {
+        MessageImpl message = copy();
+        message.scope = scope.within(outer);
         return message;
     }
 
@@ -104,17 +110,17 @@ class MessageImpl implements Message {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         MessageImpl message = (MessageImpl) o;
-        return Objects.equals(key, message.key) && Objects.equals(arguments, message.arguments) && Objects.equals(style, message.style) && Objects.equals(children, message.children) && Objects.equals(dictionary, message.dictionary) && Objects.equals(fallback, message.fallback) && Objects.equals(placeholderDescriptions, message.placeholderDescriptions) && Objects.equals(comment, message.comment);
+        return Objects.equals(definition, message.definition) && Objects.equals(style, message.style) && Objects.equals(children, message.children) && Objects.equals(fallback, message.fallback);
     }
 
     @Override
     public int hashCode() {
-        return key.hashCode();
+        return definition.key().hashCode();
     }
 
     @Override
     public Message clone() {
-        return new MessageImpl(key, this);
+        return copy();
     }
 
     @Override
@@ -124,7 +130,7 @@ class MessageImpl implements Message {
 
     @Override
     public @NotNull String translationKey() {
-        return key.asTranslationKey();
+        return definition.key().asTranslationKey();
     }
 
     @Override
@@ -144,17 +150,17 @@ class MessageImpl implements Message {
 
     @Override
     public @NotNull List<TranslationArgument> arguments() {
-        return arguments;
+        return ARGUMENTS;
     }
 
     @Override
     public @NotNull TranslatableComponent arguments(@NotNull ComponentLike @NotNull ... args) {
-        return new MessageImpl(key, this);
+        return copy();
     }
 
     @Override
     public @NotNull TranslatableComponent arguments(@NotNull List<? extends ComponentLike> args) {
-        return new MessageImpl(key, this);
+        return copy();
     }
 
     @Override
@@ -164,7 +170,7 @@ class MessageImpl implements Message {
 
     @Override
     public @NotNull TranslatableComponent fallback(@Nullable String fallback) {
-        var clone = new MessageImpl(key, this);
+        var clone = copy();
         clone.fallback = fallback;
         return clone;
     }
@@ -176,12 +182,12 @@ class MessageImpl implements Message {
 
     @Override
     public @Unmodifiable @NotNull List<Component> children() {
-        return new ArrayList<>(children);
+        return children;
     }
 
     @Override
     public @NotNull TranslatableComponent children(@NotNull List<? extends ComponentLike> children) {
-        var clone = new MessageImpl(key, this);
+        var clone = copy();
         clone.children = children.stream().map(ComponentLike::asComponent).toList();
         return clone;
     }
@@ -193,14 +199,14 @@ class MessageImpl implements Message {
 
     @Override
     public @NotNull TranslatableComponent style(@NotNull Style style) {
-        var clone = new MessageImpl(key, this);
+        var clone = copy();
         clone.style = style;
         return clone;
     }
 
     public Map<String, Optional<String>> getPlaceholderDescriptions() {
         Map<String, Optional<String>> var = new HashMap<>();
-        this.placeholderDescriptions.forEach(placeholderDescription -> {
+        definition.placeholderDescriptions().forEach(placeholderDescription -> {
             var.put(placeholderDescription.names()[0], Optional.ofNullable(placeholderDescription.description()));
         });
         return var;
@@ -208,28 +214,41 @@ class MessageImpl implements Message {
 
     @Override
     public void setPlaceholderDescriptions(Map<String, Optional<String>> placeholderDescriptions) {
+        List<PlaceholderDescription> descriptions = new ArrayList<>(definition.placeholderDescriptions());
         placeholderDescriptions.forEach((s, s2) -> {
-            this.placeholderDescriptions.add(new PlaceholderDescription(new String[]{s}, s2.orElse(null), Object.class));
+            descriptions.add(new PlaceholderDescription(new String[]{s}, s2.orElse(null), Object.class));
         });
+        definition = definition.withPlaceholderDescriptions(descriptions);
+    }
+
+    @Override
+    public @Nullable String getComment() {
+        return definition.comment();
+    }
+
+    @Override
+    public void setComment(@Nullable String comment) {
+        definition = definition.withComment(comment);
     }
 
     @Override
     public Message comment(@Nullable String comment) {
-        var clone = new MessageImpl(key, this);
-        clone.comment = comment;
+        var clone = copy();
+        clone.definition = definition.withComment(comment);
         return clone;
     }
 
     @Override
     public @Nullable String comment() {
-        if (this.comment == null) {
-            if (this.placeholderDescriptions.isEmpty()) {
+        String comment = definition.comment();
+        if (comment == null) {
+            if (definition.placeholderDescriptions().isEmpty()) {
                 return null;
             }
-            this.comment = "";
+            comment = "";
         }
         String[] splits = comment.split("(?<!\\\\)\n");
-        for (PlaceholderDescription d : placeholderDescriptions) {
+        for (PlaceholderDescription d : definition.placeholderDescriptions()) {
             boolean match = false;
             for (String split : splits) {
               if (split.startsWith("<" + Arrays.toString(d.names()))) {
@@ -251,27 +270,37 @@ class MessageImpl implements Message {
 
     @Override
     public Message dictionary(Map<Locale, String> dictionary) {
-        var clone = new MessageImpl(key, this);
-        clone.dictionary.clear();
-        clone.dictionary.putAll(dictionary);
+        var clone = copy();
+        clone.definition = definition.withDictionary(Dictionary.of(dictionary));
+        return clone;
+    }
+
+    @Override
+    public Message dictionaryEntry(Locale locale, String translation) {
+        var clone = copy();
+        clone.definition = definition.withDictionary(definition.dictionary().with(locale, translation));
         return clone;
     }
 
     @Override
     public Map<Locale, String> dictionary() {
-        return Collections.unmodifiableMap(dictionary);
+        return definition.dictionary();
+    }
+
+    @Override
+    public Map<Locale, String> getDictionary() {
+        return definition.dictionary();
     }
 
     @Override
     public Message placeholderDescriptions(Collection<PlaceholderDescription> descriptions) {
-        var clone = new MessageImpl(key, this);
-        clone.placeholderDescriptions.clear();
-        clone.placeholderDescriptions.addAll(descriptions);
+        var clone = copy();
+        clone.definition = definition.withPlaceholderDescriptions(descriptions);
         return clone;
     }
 
     @Override
     public Collection<PlaceholderDescription> placeholderDescriptions() {
-        return Collections.unmodifiableCollection(placeholderDescriptions);
+        return definition.placeholderDescriptions();
     }
 }
@@ -2,6 +2,7 @@ package de.cubbossa.tinytranslations;
 
 import net.kyori.adventure.translation.GlobalTranslator;
 import net.kyori.adventure.translation.Translator;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.regex.Matcher;
@@ -12,10 +13,28 @@ public class MessageReferenceLoopDetector {
     private static final Pattern MESSAGE_PATTERN = Pattern.compile("\\{msg(:[a-zA-Z0-9-_.]+){1,2}}");
     private static final Pattern STYLE_PATTERN = Pattern.compile("<([!#]?[a-zA-Z0-9-_.]+)>");
 
+    private final @Nullable MessageTranslator translator;
+    private final Map<TranslationKey, Message> pending;
+
     public MessageReferenceLoopDetector() {
+        this(null, Collections.emptyMap());
+    }
+
+    /**
+     * Detects loops as if the messages of a translator were already replaced with the given messages.
+     *
+     * @param translator The translator that the messages will be published to.
+     * @param pending    All messages of the translator that are about to be published.
+     */
+    MessageReferenceLoopDetector(@Nullable MessageTranslator translator, Map<TranslationKey, Message> pending) {
+        this.translator = translator;
+        this.pending = pending;
     }
 
     private MessageTranslator findOwner(Message message) {
+        if (translator != null && pending.containsKey(message.getKey())) {
+            return translator;
+        }
         for (MessageTranslator source : AdventureTranslatorAdapter.instance().getTranslators()) {
             if (source.getMessage(message.getKey()) != null) {
                 return source;
@@ -96,7 +115,7 @@ public class MessageReferenceLoopDetector {
                 String[] seg = key.split(":");
                 ref = t.getMessageByNamespace(seg[0], seg[1]);
             } else {
-                ref = t.getMessageInParentTree(key);
+                ref = lookup(t, key);
             }
             if (ref != null) {
                 if (stack.contains("(msg:" + locale.toLanguageTag() + ") " + ref.translationKey())) {
@@ -110,6 +129,61 @@ public class MessageReferenceLoopDetector {
         return new Node(msg, references);
     }
 
+    /**
+     * Collects the messages that have to be checked for loops again after the given messages changed. A loop through
+     * a changed message always contains the changed message itself or one of the messages that reference it.
+     *
+     * @param keys   The keys of the changed pending messages.
+     * @param locale The locale to check.
+     * @return The pending messages with the given keys and all pending messages that reference them, directly or
+     * through other pending messages.
+     */
+    Collection<Message> dependents(Collection<TranslationKey> keys, Locale locale) {
+        if (translator == null) {
+            return Collections.emptyList();
+        }
+        Map<TranslationKey, Set<TranslationKey>> referencedBy = new HashMap<>();
+        for (Message message : pending.values()) {
+            String s = message.dictionary().get(locale);
+            if (s == null) {
+                continue;
+            }
+            Matcher matcher = MESSAGE_PATTERN.matcher(s);
+            while (matcher.find()) {
+                String match = matcher.group();
+                String[] seg = match.substring("{msg:".length(), match.length() - 1).split(":");
+                TranslationKey ref = seg.length > 1
+                        ? TranslationKey.of(seg[0], seg[1])
+                        : TranslationKey.of(translator.getPath(), seg[0]);
+                referencedBy.computeIfAbsent(ref, k -> new HashSet<>()).add(message.getKey());
+            }
+        }
+        Set<TranslationKey> affected = new LinkedHashSet<>();
+        Queue<TranslationKey> queue = new LinkedList<>(keys);
+        while (!queue.isEmpty()) {
+            TranslationKey key = queue.poll();
+            if (pending.containsKey(key) && affected.add(key)) {
+                queue.addAll(referencedBy.getOrDefault(key, Collections.emptySet()));
+            }
+        }
+        return affected.stream().map(pending::get).toList();
+    }
+
+    private @Nullable Message lookup(MessageTranslator t, String key) {
+        if (t != translator) {
+            return t.getMessageInParentTree(key);
+        }
+        String path = t.getPath();
+        if (key.startsWith(path + ".")) {
+            key = key.substring(path.length() + 1);
+        }
+        Message msg = pending.get(TranslationKey.of(path, key));
+        if (msg != null || t.getParent() == null) {
+            return msg;
+        }
+        return t.getParent().getMessageInParentTree(key);
+    }
+
     private record Node(String id, Collection<Node> references) {
     }
 
@@ -0,0 +1,366 @@
+package de.cubbossa.tinytranslations;
+
+import de.cubbossa.tinytranslations.nanomessage.IndexedTagResolver;
+import de.cubbossa.tinytranslations.nanomessage.NanoTemplate;
+import de.cubbossa.tinytranslations.nanomessage.tag.MessageTag;
+import de.cubbossa.tinytranslations.nanomessage.tag.ObjectNotationTag;
+import de.cubbossa.tinytranslations.nanomessage.tag.StyleTag;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The translation of a message for one locale, compiled once and rendered for every translation of the message.
+ * Rendering only resolves the holes of the template, the translation itself is not parsed again.
+ * <p>
+ * Holes are typed in the context of the translator that compiled the template, which is why templates belong to
+ * the render generation that they were compiled in and have to be compiled again once it changes.
+ * <p>
+ * Everything that only depends on the message, the locale and the state of the translators, like styles, message
+ * references and the resolvers of the translators, is the same for all renders within a generation. Templates can
+ * therefore be evaluated partially with these resolvers, which leaves a residual template that only resolves the
+ * placeholders and objects of each render.
+ */
+final class MessageTemplate {
+
+    private static final int MAX_STYLE_DEPTH = 16;
+
+    enum HoleType {
+        PLACEHOLDER,
+        CHOICE,
+        OBJECT_PATH,
+        STYLE,
+        MESSAGE_REFERENCE,
+        TAG
+    }
+
+    record Hole(HoleType type, String name) {
+    }
+
+    /**
+     * Holes of the representations of styles by source, shared by all templates of a generation. Styles are
+     * classified for every template that uses them, this saves parsing their representation again each time.
+     */
+    private static volatile StyleHoles styleHoles = new StyleHoles(-1, new ConcurrentHashMap<>());
+
+    private final NanoTemplate template;
+    private final List<Hole> holes;
+    private final long generation;
+    private final boolean argumentFree;
+    private final @Nullable NanoTemplate residual;
+    private final Set<String> folded;
+
+    private MessageTemplate(NanoTemplate template, List<Hole> holes, long generation, boolean argumentFree,
+                            @Nullable NanoTemplate residual, Set<String> folded) {
+        this.template = template;
+        this.holes = holes;
+        this.generation = generation;
+        this.argumentFree = argumentFree;
+        this.residual = residual;
+        this.folded = folded;
+    }
+
+    /**
+     * Compiles a template without evaluating it partially.
+     *
+     * @param objects The objects of the translator and its parents, as they are provided to the render.
+     */
+    static MessageTemplate compile(MessageTranslator translator, Scope objects, String translation, long generation) {
+        NanoTemplate template = TinyTranslations.nanoMessage().compile(translation);
+        Classifier classifier = new Classifier(translator, objects, generation);
+        List<Hole> holes = classifier.holes(template.holes());
+        return new MessageTemplate(template, holes, generation, classifier.isStatic(holes, false, 0),
+                null, Collections.emptySet());
+    }
+
+    /**
+     * Compiles a template and evaluates it partially with the given resolver.
+     *
+     * @param objects  The objects of the translator and its parents, as they are provided to the render.
+     * @param resolver The resolvers of the translator and its parents, including message and style tags.
+     */
+    static MessageTemplate compile(MessageTranslator translator, Scope objects, String translation, long generation,
+                                   TagResolver resolver) {
+        NanoTemplate template = TinyTranslations.nanoMessage().compile(translation);
+        Classifier classifier = new Classifier(translator, objects, generation);
+        List<Hole> holes = classifier.holes(template.holes());
+        boolean argumentFree = classifier.isStatic(holes, false, 0);
+        if (!template.isPartiallyEvaluable()) {
+            return new MessageTemplate(template, holes, generation, argumentFree, null, Collections.emptySet());
+        }
+        NanoTemplate residual = template.partial(resolver, name -> classifier.isVolatile(resolver, name, 0));
+        if (residual == template) {
+            return new MessageTemplate(template, holes, generation, argumentFree, null, Collections.emptySet());
+        }
+        // styles render their representation with the resolvers of the render, which therefore must not change either
+        Set<String> folded = new HashSet<>();
+        for (String name : residual.folded()) {
+            classifier.fold(name, folded, 0);
+        }
+        return new MessageTemplate(template, holes, generation, argumentFree, residual,
+                Collections.unmodifiableSet(folded));
+    }
+
+    private record StyleHoles(long generation, Map<String, List<NanoTemplate.Hole>> holes) {
+    }
+
+    /**
+     * Classifies the tags of a template and of the styles that it uses. Each name is looked up only once in the
+     * objects, resolvers and styles of the translators, no matter how many holes and style representations use it.
+     */
+    private static final class Classifier {
+
+        private final MessageTranslator translator;
+        private final Scope objects;
+        private final Map<String, Source> sources = new HashMap<>();
+        private final Map<String, Optional<MessageStyle>> styles = new HashMap<>();
+        private final Map<String, Boolean> volatileTags = new HashMap<>();
+        private final Map<String, List<NanoTemplate.Hole>> representations;
+
+        private Classifier(MessageTranslator translator, Scope objects, long generation) {
+            this.translator = translator;
+            this.objects = objects;
+            StyleHoles cache = styleHoles;
+            if (cache.generation() != generation) {
+                cache = new StyleHoles(generation, new ConcurrentHashMap<>());
+                styleHoles = cache;
+            }
+            this.representations = cache.holes();
+        }
+
+        /**
+         * Where a tag is resolved by a translator, if it is resolved by objects or resolvers at all.
+         */
+        private enum Source {
+            OBJECT,
+            DYNAMIC_RESOLVER,
+            RESOLVER,
+            NONE
+        }
+
+        private Source source(String name) {
+            Source source = sources.get(name);
+            if (source == null) {
+                source = lookup(name);
+                sources.put(name, source);
+            }
+            return source;
+        }
+
+        private Source lookup(String name) {
+            if (name.equalsIgnoreCase(ObjectNotationTag.KEY) || objects.object(name) != null) {
+                return Source.OBJECT;
+            }
+            for (MessageTranslator t = translator; t != null; t = t.getParent()) {
+                for (TagResolver r : t.getResolvers()) {
+                    if (r.has(name)) {
+                        return r instanceof IndexedTagResolver.Dynamic ? Source.DYNAMIC_RESOLVER : Source.RESOLVER;
+                    }
+                }
+            }
+            return Source.NONE;
+        }
+
+        private @Nullable MessageStyle style(String name) {
+            return styles.computeIfAbsent(name, n -> Optional.ofNullable(translator.getStyleInParentTree(n))).orElse(null);
+        }
+
+        private List<NanoTemplate.Hole> representation(MessageStyle style) {
+            return representations.computeIfAbsent(style.asString(),
+                    s -> TinyTranslations.nanoMessage().compile(s).holes());
+        }
+
+        List<Hole> holes(List<NanoTemplate.Hole> holes) {
+            List<Hole> result = new ArrayList<>(holes.size());
+            for (NanoTemplate.Hole hole : holes) {
+                result.add(new Hole(type(hole), hole.name()));
+            }
+            return Collections.unmodifiableList(result);
+        }
+
+        private HoleType type(NanoTemplate.Hole hole) {
+            return switch (hole.type()) {
+                case CHOICE -> HoleType.CHOICE;
+                case OBJECT_PATH -> HoleType.OBJECT_PATH;
+                case PLACEHOLDER, TAG -> {
+                    String name = hole.name();
+                    if (name.equalsIgnoreCase(MessageTag.KEY)) {
+                        yield HoleType.MESSAGE_REFERENCE;
+                    }
+                    if (name.equalsIgnoreCase(StyleTag.KEY) || style(name) != null) {
+                        yield HoleType.STYLE;
+                    }
+                    yield hole.type() == NanoTemplate.HoleType.PLACEHOLDER ? HoleType.PLACEHOLDER : HoleType.TAG;
+                }
+            };
+        }
+
+        /**
+         * A template is static if it renders to the same component for as long as the render generation does not
+         * change. This is the case if it neither has placeholders, choices or object paths nor tags that are resolved
+         * by the resolvers or objects of a translator. Styles are static if their representation is. Message
+         * references are never static, because the referenced message is translated with the resolvers of the
+         * referencing message.
+         */
+        boolean isStatic(List<Hole> holes, boolean style, int depth) {
+            for (Hole hole : holes) {
+                switch (hole.type()) {
+                    case CHOICE, OBJECT_PATH, MESSAGE_REFERENCE -> {
+                        return false;
+                    }
+                    case PLACEHOLDER -> {
+                        // the content and the arguments of a style are provided as placeholders
+                        if (!style || !isStyleArgument(hole.name())) {
+                            return false;
+                        }
+                    }
+                    case TAG -> {
+                        if (source(hole.name()) != Source.NONE) {
+                            return false;
+                        }
+                    }
+                    case STYLE -> {
+                        MessageStyle messageStyle = style(hole.name());
+                        if (messageStyle == null || depth >= MAX_STYLE_DEPTH) {
+                            return false;
+                        }
+                        if (!isStatic(holes(representation(messageStyle)), true, depth + 1)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * A tag is volatile if it may render differently within one generation, even though the resolvers of the
+         * translators resolve it. This applies to objects, which are resolved on every render, to resolvers that
+         * are marked as {@link IndexedTagResolver.Dynamic} and to styles that contain volatile or unknown tags.
+         */
+        boolean isVolatile(TagResolver resolver, String name, int depth) {
+            Boolean result = volatileTags.get(name);
+            if (result == null) {
+                result = computeVolatile(resolver, name, depth);
+                volatileTags.put(name, result);
+            }
+            return result;
+        }
+
+        private boolean computeVolatile(TagResolver resolver, String name, int depth) {
+            if (name.equalsIgnoreCase(StyleTag.KEY)) {
+                return true;
+            }
+            switch (source(name)) {
+                case OBJECT, DYNAMIC_RESOLVER -> {
+                    return true;
+                }
+                case RESOLVER -> {
+                    return false;
+                }
+                default -> {
+                }
+            }
+            MessageStyle style = style(name);
+            if (style == null) {
+                return false;
+            }
+            if (depth >= MAX_STYLE_DEPTH) {
+                return true;
+            }
+            for (NanoTemplate.Hole hole : representation(style)) {
+                switch (hole.type()) {
+                    case CHOICE, OBJECT_PATH -> {
+                        return true;
+                    }
+                    default -> {
+                        String n = hole.name();
+                        if (isStyleArgument(n)) {
+                            continue;
+                        }
+                        boolean known = resolver.has(n) || TagResolver.standard().has(n);
+                        if (!known || isVolatile(resolver, n, depth + 1)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        void fold(String name, Set<String> folded, int depth) {
+            if (!folded.add(name) || depth >= MAX_STYLE_DEPTH) {
+                return;
+            }
+            MessageStyle style = style(name);
+            if (style == null) {
+                return;
+            }
+            for (NanoTemplate.Hole hole : representation(style)) {
+                fold(hole.name(), folded, depth + 1);
+            }
+        }
+
+        private static boolean isStyleArgument(String name) {
+            return name.equals("slot") || name.matches("arg[0-9]+");
+        }
+    }
+
+    /**
+     * @param translation The current translation of the message.
+     * @return true, if this template was compiled from the given translation and can be used to render it.
+     */
+    boolean isCompiledFrom(String translation) {
+        return template.source().equals(translation);
+    }
+
+    String source() {
+        return template.source();
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    /**
+     * @return true, if the template renders to the same component for all renders within its generation, as long as
+     * no resolvers or objects are provided by the rendered message itself.
+     */
+    boolean isArgumentFree() {
+        return argumentFree;
+    }
+
+    List<Hole> holes() {
+        return holes;
+    }
+
+    /**
+     * @return The names of all tags that have been rendered in advance and must not be resolved by the resolvers of a
+     * render, including the tags that the representations of the rendered styles use.
+     */
+    Set<String> folded() {
+        return folded;
+    }
+
+    /**
+     * Renders the residual template of the partial evaluation, unless the resolvers of the render itself resolve
+     * one of the tags that have been rendered in advance.
+     *
+     * @param resolver The resolver for all tags of the template.
+     * @param render   The resolvers and objects that are only provided for this render.
+     */
+    Component render(TagResolver resolver, TagResolver render) {
+        if (residual == null) {
+            return template.render(resolver);
+        }
+        for (String name : folded) {
+            if (render.has(name)) {
+                return template.render(resolver);
+            }
+        }
+        return residual.render(resolver);
+    }
+}
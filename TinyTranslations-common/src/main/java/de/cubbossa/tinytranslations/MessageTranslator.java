@@ -15,6 +15,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.Collection;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A MessageTranslator bundles several features that influence the way a plugin message might be translated.
@@ -97,6 +98,18 @@ public interface MessageTranslator extends AutoCloseable, Formattable<MessageTra
      */
     Component translate(Message message, Locale locale, TagResolver... resolvers);
 
+    /**
+     * Turns a message into a component asynchronously on the {@link TinyTranslations#getRenderExecutor() render executor}.
+     * Resolvers and object mappings must be thread safe, see {@link TinyTranslations#getRenderExecutor()}.
+     *
+     * @param message Any message instance.
+     * @param locale  A target locale that the message will be translated into.
+     * @return A future that completes with the message translated into a component.
+     */
+    default CompletableFuture<Component> translateAsync(Message message, Locale locale, TagResolver... resolvers) {
+        return CompletableFuture.supplyAsync(() -> translate(message, locale, resolvers), TinyTranslations.getRenderExecutor());
+    }
+
     /**
      * Processes a raw string as if it were a translation value of a Message.
      * The default locale will be used to resolve messages.
@@ -146,6 +159,35 @@ public interface MessageTranslator extends AutoCloseable, Formattable<MessageTra
      */
     void loadLocale(Locale locale);
 
+    /**
+     * Reloads all existing locales like {@link #loadLocales()} and reports which messages changed.
+     * Propagates to all parenting Translations.
+     *
+     * @return The combined report of all reloaded locales of this and all parenting Translations.
+     */
+    ReloadReport reloadLocales();
+
+    /**
+     * Reloads a locale like {@link #loadLocale(Locale)}. All messages of the locale are compared with the current
+     * messages first and then replaced at once, translations never see a partially loaded locale. Only messages that
+     * actually changed are replaced. Propagates to all parenting Translations.
+     *
+     * @param locale A locale instance to load from a storage.
+     * @return The combined report of the reloaded locale of this and all parenting Translations.
+     */
+    ReloadReport reloadLocale(Locale locale);
+
+    /**
+     * Reloads all existing locales like {@link #reloadLocales()} on the
+     * {@link TinyTranslations#getRenderExecutor() render executor}, translations continue with the current messages
+     * until the reload completes.
+     *
+     * @return A future that completes with the report of the reload.
+     */
+    default CompletableFuture<ReloadReport> reloadLocalesAsync() {
+        return CompletableFuture.supplyAsync(this::reloadLocales, TinyTranslations.getRenderExecutor());
+    }
+
     /**
      * Saves the current dictionary values for the given language and all registered messages of this Translations instance
      * to a storage if a storage instance is set.
@@ -280,6 +322,12 @@ public interface MessageTranslator extends AutoCloseable, Formattable<MessageTra
 
     Locale defaultLocale();
 
+    /**
+     * @return The resolver that decides which translation of a message is used if a message has no translation for
+     * the requested locale. Fallbacks of parent translators apply to all forks.
+     */
+    LocaleFallbackResolver getLocaleFallbackResolver();
+
 
     // Tiny object resolving
 
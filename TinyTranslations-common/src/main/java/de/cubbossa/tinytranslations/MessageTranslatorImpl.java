@@ -3,6 +3,7 @@ package de.cubbossa.tinytranslations;
 import de.cubbossa.tinytranslations.annotation.AppPathPattern;
 import de.cubbossa.tinytranslations.annotation.AppPattern;
 import de.cubbossa.tinytranslations.annotation.KeyPattern;
+import de.cubbossa.tinytranslations.nanomessage.IndexedTagResolver;
 import de.cubbossa.tinytranslations.nanomessage.tag.ObjectNotationTag;
 import de.cubbossa.tinytranslations.nanomessage.tag.MessageTag;
 import de.cubbossa.tinytranslations.nanomessage.tag.StyleTag;
@@ -11,11 +12,13 @@ import de.cubbossa.tinytranslations.storage.StorageEntry;
 import de.cubbossa.tinytranslations.storage.StyleStorage;
 import de.cubbossa.tinytranslations.tinyobject.InsertedObject;
 import de.cubbossa.tinytranslations.tinyobject.TinyObjectMapping;
+import de.cubbossa.tinytranslations.util.PersistentHashMap;
 import lombok.Getter;
 import lombok.Setter;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.translation.GlobalTranslator;
 import net.kyori.adventure.util.TriState;
@@ -23,28 +26,56 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.text.MessageFormat;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import static de.cubbossa.tinytranslations.util.MessageUtil.getMessageTranslation;
-
 class MessageTranslatorImpl implements MessageTranslator {
 
+    /**
+     * Render results depend on messages, styles and resolvers of other translators, like parents or translators that
+     * are referenced by namespace. Instead of tracking these dependencies, every change to any translator starts a new
+     * generation and makes all cached templates and components of the previous generation invalid.
+     */
+    private static final AtomicLong GENERATION = new AtomicLong();
+    private static final int MAX_DEPTH = 32;
+
     @Getter
     private final MessageTranslator parent;
     @Getter
     private final @AppPattern String name;
+    private final @AppPathPattern String path;
     private final Map<String, MessageTranslator> children;
+    /**
+     * All translators of the tree by path, only maintained by the root translator.
+     */
+    private final Map<String, MessageTranslator> translatorsByPath = new ConcurrentHashMap<>();
+
+    /**
+     * Messages, resolvers and objects of this translator. Readers never lock, writers copy the current state and
+     * publish the modified copy at once, so that readers never see a partially loaded locale.
+     */
+    private volatile State state = State.EMPTY;
+    private final Object writeLock = new Object();
+    /**
+     * The keys that the message storage provided for each locale on the last reload and the messages that only exist
+     * because the storage provided them, guarded by the write lock.
+     */
+    private final Map<Locale, Set<TranslationKey>> storedKeys = new HashMap<>();
+    private final Map<TranslationKey, Message> storedMessages = new HashMap<>();
+    // increases whenever the stored keys or messages change, guarded by the write lock
+    private long storedVersion = 0;
 
     @Getter
     private final Map<TranslationKey, Message> messageSet;
     @Getter
     private final StyleSet styleSet;
-    @Getter
-    private final Collection<TagResolver> resolvers = new LinkedList<>();
-    private final Collection<TinyObjectMapping> objectResolvers = new LinkedList<>();
+    private final AtomicLong resolverVersion = new AtomicLong();
+    private volatile @Nullable ResolverChain resolverChain;
     @Getter
     @Setter
     private @Nullable MessageStorage messageStorage;
@@ -55,39 +86,49 @@ class MessageTranslatorImpl implements MessageTranslator {
     @Setter
     private boolean useClientLocale = true;
     private @NotNull Locale defaultLocale = Locale.ENGLISH;
+    @Getter
+    private final LocaleFallbackResolver localeFallbackResolver;
 
-    private final Map<String, InsertedObject> insertedObjects = new HashMap<>();
+    private final Map<TemplateKey, MessageTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<TemplateKey, RenderedMessage> renderedMessages = new ConcurrentHashMap<>();
+    private final Map<TemplateKey, Translation> translations = new ConcurrentHashMap<>();
 
     private Logger logger = Logger.getLogger("TinyTranslations");
 
     public MessageTranslatorImpl(MessageTranslator parent, String name) {
         this.parent = parent;
         this.name = name.toLowerCase();
+        this.path = parent == null ? this.name : parent.getPath() + "." + this.name;
 
         this.children = new ConcurrentHashMap<>();
 
         this.messageStorage = null;
         this.styleStorage = null;
 
-        this.messageSet = new HashMap<>();
+        this.localeFallbackResolver = new LocaleFallbackResolver(
+                parent == null ? null : parent.getLocaleFallbackResolver(),
+                MessageTranslatorImpl::invalidateRenderCaches
+        );
+        this.messageSet = new MessageSet();
         this.styleSet = new StyleSet();
         this.logger = Logger.getLogger("TinyTranslations:" + getPath());
 
         // unregister in close
         AdventureTranslatorAdapter.instance().register(this);
+        // lookups by namespace may run on other threads, publish this translator once it is fully constructed
+        root().translatorsByPath.put(path, this);
     }
 
     @Override
     public @AppPathPattern String getPath() {
-        if (parent == null) {
-            return name;
-        }
-        return parent.getPath() + "." + name;
+        return path;
     }
 
     @Override
     public void close() {
         AdventureTranslatorAdapter.instance().unregister(this);
+        root().translatorsByPath.remove(path, this);
+        invalidateRenderCaches();
 
         new HashMap<>(children).forEach((s, translations) -> translations.close());
         if (parent != null) {
@@ -96,7 +137,7 @@ class MessageTranslatorImpl implements MessageTranslator {
     }
 
     public void remove(String application) {
-        var c = children.remove(application);
+        var c = children.remove(application.toLowerCase());
         if (c != null) {
             c.close();
         }
@@ -104,13 +145,14 @@ class MessageTranslatorImpl implements MessageTranslator {
 
     @Override
     public MessageTranslator fork(String name) {
-        if (children.containsKey(name)) {
+        if (children.containsKey(name.toLowerCase())) {
             throw new IllegalArgumentException("Another fork with name '" + name + "' already exists.");
         }
 
-        MessageTranslator child = new MessageTranslatorImpl(this, name);
-        children.put(name, child);
-        child.addAll(objectResolvers);
+        MessageTranslatorImpl child = new MessageTranslatorImpl(this, name);
+        children.put(child.name, child);
+        child.addAll(state.objectResolvers());
+        invalidateRenderCaches();
         return child;
     }
 
@@ -150,42 +192,74 @@ class MessageTranslatorImpl implements MessageTranslator {
 
     @Override
     public @Nullable Component translate(@NotNull TranslatableComponent component, @NotNull Locale locale) {
+        return translate(component, locale, 0);
+    }
+
+    /**
+     * @param depth The amount of messages that embed the translated component.
+     */
+    private @Nullable Component translate(TranslatableComponent component, Locale locale, int depth) {
         String key = component.key();
 
         TinyTranslations.getLogger().finest("Translating message with key '" + key + "'.");
 
         Message message = getMessageInParentTree(key);
+        boolean temporary = false;
         if (message == null) {
             if (component.key().endsWith(Message.TEMPORARY_MESSAGE_KEY) && component instanceof Message temp) {
                 message = temp;
+                temporary = true;
             } else {
                 return null;
             }
         }
         final Locale l = useClientLocale ? locale : defaultLocale;
-        TagResolver resolver;
+        long generation = GENERATION.get();
+        TemplateKey templateKey = new TemplateKey(message.getKey(), l);
+
+        // Messages without own resolvers and objects might already have been rendered in this generation
+        boolean argumentFree = !temporary && component.children().isEmpty() && (component instanceof MessageImpl impl
+                ? impl.getScope() == Scope.EMPTY
+                : !(component instanceof Message formattable)
+                || formattable.getResolvers().isEmpty() && formattable.insertedObjects().isEmpty());
+        if (argumentFree) {
+            RenderedMessage rendered = renderedMessages.get(templateKey);
+            if (rendered != null && rendered.generation() == generation && rendered.message() == message) {
+                return withStyle(component, rendered.component(), locale);
+            }
+        }
+        // resolvers and objects that are only provided for this translation
+        TagResolver render;
+        ResolverChain chain = resolverChain();
 
-        Map<String, InsertedObject> objectMap = new HashMap<>(insertedObjects);
+        // objects of the message, followed by the objects of the translator and its parents
+        Scope scope = chain.objects();
         if (component instanceof Message formatted) {
             if (formatted instanceof UnownedMessage unowned) {
                 formatted = unowned.owner(this);
             }
-            objectMap.putAll(formatted.insertedObjects());
+            scope = (formatted instanceof MessageImpl impl
+                    ? impl.getScope()
+                    : Scope.of(formatted.insertedObjects().values())).within(scope);
 
-            resolver = TagResolver.builder()
-                    .resolvers(getResolvers())
-                    .resolvers(formatted.getResolvers())
-                    .resolver(ObjectNotationTag.resolver(objectMap, getTinyObjectResolvers()))
-                    .build();
+            render = arguments(formatted.getResolvers(),
+                    ObjectNotationTag.resolver(scope.objects(), chain.objectMappings()));
         } else {
-            resolver = TagResolver.builder()
-                    .resolvers(getResolvers())
-                    .resolver(ObjectNotationTag.resolver(insertedObjects, getTinyObjectResolvers()))
-                    .build();
+            render = ObjectNotationTag.resolver(scope.objects(), chain.objectMappings());
         }
+        TagResolver resolver = IndexedTagResolver.resolver(render, chain.own());
 
         // Translate given translation string with provided resolvers
-        var translation = translate(getMessageTranslation(message, l), l, resolver);
+        String raw = temporary
+                ? localeFallbackResolver.translation(message.dictionary(), l)
+                : translation(templateKey, message, generation);
+        if (raw == null) {
+            return null;
+        }
+        MessageTemplate template = temporary
+                ? MessageTemplate.compile(this, chain.objects(), raw, generation)
+                : template(templateKey, raw, generation, chain);
+        var translation = translate(template, l, resolver, render, depth);
 
         // Cleanup result and return
         if (translation == null) {
@@ -194,25 +268,20 @@ class MessageTranslatorImpl implements MessageTranslator {
 
         // render all translated children again, because they again might be translatable
         if (!translation.children().isEmpty()) {
-            translation = translation.children(translation.children().stream()
-                    .map(c -> {
-                        if (c instanceof Message m) {
-                            m.insertedObjects().putAll(objectMap);
-                            return m.formatted(resolver);
-                        }
-                        return c;
-                    })
-                    .map(c -> GlobalTranslator.renderer().render(
-                                c instanceof UnownedMessage
-                                    ? ((UnownedMessage) c).owner(this)
-                                    : c
-                            , l))
-                    .toList());
+            NestedRender nested = new NestedRender(l, resolver, scope, depth + 1);
+            translation = translation.children(translation.children().stream().map(nested::render).toList());
+        }
+        if (argumentFree && template.isArgumentFree()) {
+            renderedMessages.put(templateKey, new RenderedMessage(generation, message, translation));
         }
         // add all remaining children on the actual message component
         for (Component child : component.children()) {
             translation = translation.append(child);
         }
+        return withStyle(component, translation, locale);
+    }
+
+    private Component withStyle(TranslatableComponent component, Component translation, Locale locale) {
         // render hover event - it might also be translatable
         if (component.hoverEvent() != null) {
             if (component.hoverEvent().value() instanceof Component c) {
@@ -220,8 +289,7 @@ class MessageTranslatorImpl implements MessageTranslator {
             }
         }
         // Make sure that every style is being transferred
-        translation = Component.empty().style(component.style()).append(translation).compact();
-        return translation;
+        return Component.empty().style(component.style()).append(translation).compact();
     }
 
     @Override
@@ -230,18 +298,200 @@ class MessageTranslatorImpl implements MessageTranslator {
             return null;
         }
         TinyTranslations.getLogger().finest("Formatting value: '" + raw + "'.");
+        return translateReferences(TinyTranslations.nanoMessage().deserialize(raw, resolver(resolvers)), locale);
+    }
+
+    private @Nullable Component translate(MessageTemplate template, Locale locale, TagResolver resolver,
+                                          TagResolver render, int depth) {
+        TinyTranslations.getLogger().finest("Formatting value: '" + template.source() + "'.");
+        Component component = template.render(resolver(resolver), render);
+        if (component instanceof Message msg) {
+            return new NestedRender(locale, null, Scope.EMPTY, depth + 1).render(msg);
+        }
+        return component;
+    }
+
+    /**
+     * Objects take precedence over the resolvers of a message. Like with {@link TagResolver#builder()}, resolvers
+     * that have been inserted into the message later take precedence over earlier ones.
+     */
+    private static TagResolver arguments(Collection<TagResolver> resolvers, TagResolver objects) {
+        List<TagResolver> newestFirst = new ArrayList<>(resolvers);
+        Collections.reverse(newestFirst);
+        return IndexedTagResolver.builder()
+                .resolver(objects)
+                .resolvers(newestFirst)
+                .build();
+    }
+
+    /**
+     * The given resolvers take precedence over the resolvers of this translator, which take precedence over the
+     * resolvers of all parents.
+     */
+    private TagResolver resolver(TagResolver... resolvers) {
+        ResolverChain chain = resolverChain();
+        if (resolvers.length == 0) {
+            return chain.all();
+        }
+        return IndexedTagResolver.builder()
+                .resolvers(resolvers)
+                .resolver(chain.own())
+                .resolver(chain.inherited())
+                .build();
+    }
 
-        Collection<TagResolver> r = new LinkedList<>(this.resolvers);
-        r.addAll(List.of(resolvers));
+    private ResolverChain resolverChain() {
+        ResolverChain chain = resolverChain;
+        long version = resolverVersion.get();
+        // styles are part of the chain and only start a new generation when they change
+        long generation = GENERATION.get();
+        if (chain != null && chain.version() == version && chain.generation() == generation) {
+            return chain;
+        }
+        State state = this.state;
+        TagResolver own = IndexedTagResolver.resolver(state.resolvers());
+        TagResolver parents;
+        List<TinyObjectMapping> objectMappings = new ArrayList<>(state.objectResolvers());
+        Scope objects = state.objects();
+        if (parent instanceof MessageTranslatorImpl impl) {
+            ResolverChain parentChain = impl.resolverChain();
+            parents = IndexedTagResolver.resolver(parentChain.own(), parentChain.parents());
+            objectMappings.addAll(parentChain.objectMappings());
+            objects = objects.within(parentChain.objects());
+        } else if (parent != null) {
+            Collection<TagResolver> r = new ArrayList<>();
+            for (MessageTranslator t = parent; t != null; t = t.getParent()) {
+                r.addAll(t.getResolvers());
+            }
+            parents = IndexedTagResolver.resolver(r);
+            objectMappings.addAll(parent.getTinyObjectResolvers());
+            objects = objects.within(Scope.of(parent.insertedObjects().values()));
+        } else {
+            parents = TagResolver.empty();
+        }
+        TagResolver inherited = IndexedTagResolver.resolver(parents, MessageTag.resolver(this), StyleTag.resolver(this));
+        chain = new ResolverChain(version, generation, own, parents, inherited,
+                IndexedTagResolver.resolver(own, inherited), Collections.unmodifiableList(objectMappings), objects);
+        resolverChain = chain;
+        return chain;
+    }
 
-        MessageTranslator t = this;
-        while (t.getParent() != null) {
-            t = t.getParent();
-            r.addAll(t.getResolvers());
+    /**
+     * Invalidates the resolver chains of this translator and all its forks.
+     */
+    private void resolversChanged() {
+        resolverVersion.incrementAndGet();
+        for (MessageTranslator child : children.values()) {
+            if (child instanceof MessageTranslatorImpl impl) {
+                impl.resolversChanged();
+            }
+        }
+        invalidateRenderCaches();
+    }
+
+    /**
+     * Renders the messages that a translation embeds, like message references or list elements. Nested messages are
+     * translated directly by the translator that owns them instead of dispatching them through the
+     * {@link GlobalTranslator}, identical nested messages are only translated once.
+     */
+    private final class NestedRender {
+
+        private final Locale locale;
+        private final @Nullable TagResolver resolver;
+        private final Scope objects;
+        private final int depth;
+        private final Map<Message, Component> rendered = new IdentityHashMap<>();
+
+        /**
+         * @param resolver The resolver of the embedding message, nested messages are formatted with it if present.
+         * @param objects  The objects of the embedding message, nested messages can access them.
+         * @param depth    The depth of the nested messages.
+         */
+        private NestedRender(Locale locale, @Nullable TagResolver resolver, Scope objects, int depth) {
+            this.locale = locale;
+            this.resolver = resolver;
+            this.objects = objects;
+            this.depth = depth;
         }
-        r.add(MessageTag.resolver(this));
-        r.add(StyleTag.resolver(this));
-        var component = TinyTranslations.NM.deserialize(raw, TagResolver.resolver(r));
+
+        Component render(Component component) {
+            if (component instanceof Message message) {
+                Component result = rendered.get(message);
+                if (result == null) {
+                    result = message(message);
+                    rendered.put(message, result);
+                }
+                return result;
+            }
+            if (component instanceof TranslatableComponent) {
+                return GlobalTranslator.renderer().render(component, locale);
+            }
+            Component result = component;
+            if (!component.children().isEmpty()) {
+                result = result.children(component.children().stream().map(this::render).toList());
+            }
+            HoverEvent<?> hoverEvent = component.hoverEvent();
+            if (hoverEvent != null && hoverEvent.value() instanceof Component text) {
+                result = result.hoverEvent(HoverEvent.showText(render(text)));
+            }
+            return result;
+        }
+
+        private Component message(Message message) {
+            if (depth > MAX_DEPTH) {
+                logger.warning("Message '" + message.getKey() + "' is nested deeper than " + MAX_DEPTH + " messages.");
+                return Component.text("<msg-too-deep:" + message.getKey() + "/>");
+            }
+            if (message instanceof UnownedMessage unowned) {
+                message = unowned.owner(MessageTranslatorImpl.this);
+            }
+            Message copy = message;
+            if (resolver != null) {
+                copy = message.formatted(resolver);
+                if (copy instanceof MessageImpl impl) {
+                    copy = impl.within(objects);
+                } else {
+                    for (InsertedObject o : objects.objects().values()) {
+                        if (!copy.insertedObjects().containsKey(o.descriptor())) {
+                            copy = copy.insertObject(o.descriptor(), o.object(), o.resolvers());
+                        }
+                    }
+                }
+            }
+
+            MessageTranslator owner = owner(copy.getKey());
+            Component result = null;
+            if (owner instanceof MessageTranslatorImpl impl) {
+                result = impl.translate(copy, locale, depth);
+            } else if (owner != null) {
+                result = owner.translate(copy, locale);
+            }
+            return result == null ? GlobalTranslator.renderer().render(copy, locale) : result;
+        }
+    }
+
+    /**
+     * Finds the translator that owns messages of the given key. These are usually messages of this translator or its
+     * parents.
+     */
+    private @Nullable MessageTranslator owner(TranslationKey key) {
+        String namespace = key.namespace();
+        if (namespace == null) {
+            return this;
+        }
+        MessageTranslator owner = root().translatorsByPath.get(namespace);
+        if (owner != null) {
+            return owner;
+        }
+        for (MessageTranslator t : AdventureTranslatorAdapter.instance().getTranslators()) {
+            if (t.getPath().equals(namespace)) {
+                return t;
+            }
+        }
+        return null;
+    }
+
+    private @Nullable Component translateReferences(@Nullable Component component, Locale locale) {
         if (component == null) {
             return null;
         }
@@ -251,6 +501,213 @@ class MessageTranslatorImpl implements MessageTranslator {
         return component;
     }
 
+    /**
+     * @return The translation of the message for the locale of the key, following the locale fallback chain. Results
+     * are valid as long as the message instance and the render generation do not change.
+     */
+    private @Nullable String translation(TemplateKey key, Message message, long generation) {
+        Translation translation = translations.get(key);
+        if (translation == null || translation.generation() != generation || translation.message() != message) {
+            translation = new Translation(generation, message,
+                    localeFallbackResolver.translation(message.dictionary(), key.locale()));
+            translations.put(key, translation);
+        }
+        return translation.raw();
+    }
+
+    /**
+     * Returns the compiled template for the translation of a message. Templates are compiled lazily and reused as
+     * long as the translation of the message stays the same and the generation does not change. Everything that
+     * the resolvers of the given chain resolve is evaluated once while compiling.
+     */
+    private MessageTemplate template(TemplateKey key, String translation, long generation, ResolverChain chain) {
+        MessageTemplate template = templates.get(key);
+        if (template == null || template.generation() != generation || !template.isCompiledFrom(translation)) {
+            template = MessageTemplate.compile(this, chain.objects(), translation, generation, chain.all());
+            templates.put(key, template);
+        }
+        return template;
+    }
+
+    /**
+     * Starts a new render generation. Must be called whenever messages, styles, resolvers or objects of any
+     * translator change.
+     */
+    static void invalidateRenderCaches() {
+        GENERATION.incrementAndGet();
+    }
+
+    private record TemplateKey(TranslationKey key, Locale locale) {
+    }
+
+    /**
+     * The resolvers and object mappings of a translator merged with the ones of all its parents, valid as long as
+     * neither the resolver version of the translator nor the render generation changes.
+     *
+     * @param own            The resolvers of the translator itself.
+     * @param parents        The resolvers of all parents, closest parent first.
+     * @param inherited      The resolvers of all parents followed by message and style tags of the translator.
+     * @param all            Own resolvers followed by inherited resolvers.
+     * @param objectMappings The object mappings of the translator followed by the ones of all parents.
+     * @param objects        The objects of the translator within the objects of all parents.
+     */
+    private record ResolverChain(long version, long generation, TagResolver own, TagResolver parents,
+                                 TagResolver inherited, TagResolver all,
+                                 Collection<TinyObjectMapping> objectMappings, Scope objects) {
+    }
+
+    /**
+     * The translation of an argument free message, before the style and children of the rendered component are
+     * applied.
+     */
+    private record RenderedMessage(long generation, Message message, Component component) {
+    }
+
+    private record Translation(long generation, Message message, @Nullable String raw) {
+    }
+
+    /**
+     * A snapshot of the state of a translator. All collections are unmodifiable and never change once published.
+     */
+    private record State(PersistentHashMap<TranslationKey, Message> messages, List<TagResolver> resolvers,
+                         List<TinyObjectMapping> objectResolvers, Scope objects) {
+
+        private static final State EMPTY = new State(PersistentHashMap.empty(), List.of(), List.of(), Scope.EMPTY);
+
+        State messages(PersistentHashMap<TranslationKey, Message> messages) {
+            return new State(messages, resolvers, objectResolvers, objects);
+        }
+
+        State resolvers(List<TagResolver> resolvers) {
+            return new State(messages, Collections.unmodifiableList(resolvers), objectResolvers, objects);
+        }
+
+        State objectResolvers(List<TinyObjectMapping> objectResolvers) {
+            return new State(messages, resolvers, Collections.unmodifiableList(objectResolvers), objects);
+        }
+
+        State objects(Scope objects) {
+            return new State(messages, resolvers, objectResolvers, objects);
+        }
+    }
+
+    /**
+     * Publishes the current messages with the given messages replaced, or removed if they are mapped to null. Only
+     * the touched keys are compared, all other messages are shared with the previous state.
+     * <p>
+     * Adding or removing keys starts a new render generation, because templates of other messages might have resolved
+     * references to these keys while compiling. Replaced messages only evict their own templates.
+     *
+     * @return The previous messages of the touched keys.
+     */
+    private Map<TranslationKey, Message> updateMessages(Map<TranslationKey, Message> updates) {
+        Map<TranslationKey, Message> previous = new HashMap<>();
+        List<TranslationKey> added = new ArrayList<>();
+        List<TranslationKey> removed = new ArrayList<>();
+        Set<TranslationKey> replaced = new HashSet<>();
+        synchronized (writeLock) {
+            PersistentHashMap<TranslationKey, Message> messages = state.messages();
+            for (Map.Entry<TranslationKey, Message> e : updates.entrySet()) {
+                Message before = messages.get(e.getKey());
+                if (before == e.getValue()) {
+                    continue;
+                }
+                if (before != null) {
+                    previous.put(e.getKey(), before);
+                }
+                if (e.getValue() == null) {
+                    messages = messages.minus(e.getKey());
+                    removed.add(e.getKey());
+                } else {
+                    messages = messages.plus(e.getKey(), e.getValue());
+                    (before == null ? added : replaced).add(e.getKey());
+                }
+            }
+            publishMessages(messages, added, removed);
+        }
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            invalidateRenderCaches();
+        } else if (!replaced.isEmpty()) {
+            root().evict(replaced);
+        }
+        return previous;
+    }
+
+    /**
+     * Publishes new messages and updates the key index of the adapter. Must be called while holding the write lock.
+     *
+     * @param added   The keys that the previous messages did not contain.
+     * @param removed The keys that the new messages do not contain anymore.
+     */
+    private void publishMessages(PersistentHashMap<TranslationKey, Message> messages,
+                                 Collection<TranslationKey> added, Collection<TranslationKey> removed) {
+        state = state.messages(messages);
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            AdventureTranslatorAdapter.instance().messagesChanged(this, added, removed);
+        }
+    }
+
+    private void update(UnaryOperator<State> update) {
+        synchronized (writeLock) {
+            state = update.apply(state);
+        }
+    }
+
+    /**
+     * A view on the messages of the current state. Modifications publish a new state and start a new render
+     * generation, because messages can be put into the set directly.
+     */
+    private final class MessageSet extends AbstractMap<TranslationKey, Message> {
+
+        @Override
+        public Message get(Object key) {
+            return state.messages().get(qualify(key));
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return state.messages().containsKey(qualify(key));
+        }
+
+        @Override
+        public int size() {
+            return state.messages().size();
+        }
+
+        @Override
+        public @NotNull Set<Entry<TranslationKey, Message>> entrySet() {
+            return state.messages().entrySet();
+        }
+
+        @Override
+        public Message put(TranslationKey key, Message value) {
+            TranslationKey k = (TranslationKey) qualify(key);
+            return updateMessages(Collections.singletonMap(k, value)).get(k);
+        }
+
+        @Override
+        public void putAll(@NotNull Map<? extends TranslationKey, ? extends Message> m) {
+            Map<TranslationKey, Message> updates = new LinkedHashMap<>();
+            m.forEach((key, value) -> updates.put((TranslationKey) qualify(key), value));
+            updateMessages(updates);
+        }
+
+        @Override
+        public Message remove(Object key) {
+            if (!(qualify(key) instanceof TranslationKey k)) {
+                return null;
+            }
+            return updateMessages(Collections.singletonMap(k, null)).get(k);
+        }
+
+        @Override
+        public void clear() {
+            Map<TranslationKey, Message> updates = new HashMap<>();
+            state.messages().keySet().forEach(key -> updates.put(key, null));
+            updateMessages(updates);
+        }
+    }
+
     @Override
     public @Nullable MessageFormat translate(@NotNull String key, @NotNull Locale locale) {
         return null;
@@ -265,10 +722,12 @@ class MessageTranslatorImpl implements MessageTranslator {
     @Override
     public @Nullable Message getMessage(String key) {
         String path = getPath();
-        if (key.startsWith(path)) {
-            return messageSet.get(TranslationKey.of(path, key.substring(path.length() + 1)));
+        if (key.length() > path.length() && key.charAt(path.length()) == '.' && key.startsWith(path)) {
+            key = key.substring(path.length() + 1);
         }
-        return messageSet.get(TranslationKey.of(path, key));
+        // lookups of unknown keys must not create keys
+        TranslationKey translationKey = TranslationKeyImpl.find(path, key);
+        return translationKey == null ? null : state.messages().get(translationKey);
     }
 
     @Override
@@ -276,6 +735,22 @@ class MessageTranslatorImpl implements MessageTranslator {
         return messageSet.get(key);
     }
 
+    /**
+     * Keys without namespace refer to messages of this translator, for example the keys that file storages read.
+     */
+    private Object qualify(Object key) {
+        if (key instanceof TranslationKey k && k.namespace() == null) {
+            return TranslationKey.of(getPath(), k.key());
+        }
+        return key;
+    }
+
+    private Map<TranslationKey, StorageEntry> readMessages(MessageStorage storage, Locale locale) {
+        Map<TranslationKey, StorageEntry> entries = new LinkedHashMap<>();
+        storage.readMessages(locale).forEach((key, entry) -> entries.put((TranslationKey) qualify(key), entry));
+        return entries;
+    }
+
     public @Nullable MessageStyle getStyle(String key) {
         return styleSet.get(key);
     }
@@ -296,21 +771,8 @@ class MessageTranslatorImpl implements MessageTranslator {
     }
 
     private @Nullable MessageTranslator getTranslationsByNamespace(@AppPathPattern String namespace) {
-        MessageTranslator messageTranslator = this;
-        String[] split = namespace.split("\\.");
-        Queue<String> path = new LinkedList<>(List.of(split));
-
-        // remove global from queue
-        path.poll();
-
-        while (!path.isEmpty()) {
-            String childName = path.poll();
-            messageTranslator = children.get(childName);
-            if (messageTranslator == null) {
-                return null;
-            }
-        }
-        return messageTranslator;
+        // paths are lower case, toLowerCase returns the same instance for lower case namespaces
+        return root().translatorsByPath.get(namespace.toLowerCase());
     }
 
     @Override
@@ -343,43 +805,50 @@ class MessageTranslatorImpl implements MessageTranslator {
 
     @Override
     public void addMessages(Message... messages) {
-        for (Message message : messages) {
-            if (message == null) {
-                continue;
-            }
-            addMessage(message);
-        }
+        addMessage(Arrays.stream(messages).filter(Objects::nonNull).toList());
     }
 
     @Override
     public void addMessage(Iterable<Message> messages) {
+        Map<TranslationKey, Message> owned = new LinkedHashMap<>();
         for (Message message : messages) {
-            addMessage(message);
+            if (!(message instanceof UnownedMessage unowned)) {
+                throw new IllegalArgumentException("The provided message already belongs to a translator. Messages can only belong to one translator.");
+            }
+            Message msg = unowned.owner(this);
+            owned.put(msg.getKey(), msg);
         }
+        messageSet.putAll(owned);
     }
 
     @Override
     public Collection<TinyObjectMapping> getTinyObjectResolvers() {
-        Collection<TinyObjectMapping> result = new LinkedList<>(objectResolvers);
-        if (parent != null) {
-            result.addAll(parent.getTinyObjectResolvers());
-        }
-        return result;
+        return resolverChain().objectMappings();
     }
 
     @Override
     public void addAll(Iterable<TinyObjectMapping> resolvers) {
-        resolvers.forEach(objectResolvers::add);
+        update(s -> {
+            List<TinyObjectMapping> list = new ArrayList<>(s.objectResolvers());
+            resolvers.forEach(list::add);
+            return s.objectResolvers(list);
+        });
+        resolversChanged();
     }
 
     @Override
     public void add(TinyObjectMapping resolver) {
-        objectResolvers.add(resolver);
+        addAll(List.of(resolver));
     }
 
     @Override
     public void remove(TinyObjectMapping resolver) {
-        objectResolvers.remove(resolver);
+        update(s -> {
+            List<TinyObjectMapping> list = new ArrayList<>(s.objectResolvers());
+            list.remove(resolver);
+            return s.objectResolvers(list);
+        });
+        resolversChanged();
     }
 
     @Override
@@ -391,11 +860,22 @@ class MessageTranslatorImpl implements MessageTranslator {
             if (styleStorage != null) {
                 styleSet.putAll(styleStorage.loadStyles());
             }
+            invalidateRenderCaches();
         } catch (Throwable t) {
             logger.log(Level.SEVERE, t.getMessage());
         }
     }
 
+    /**
+     * Reads the styles from the style storage without propagating to parents.
+     */
+    void reloadStyles() {
+        if (styleStorage != null) {
+            styleSet.putAll(styleStorage.loadStyles());
+        }
+        invalidateRenderCaches();
+    }
+
     @Override
     public void saveStyles() {
         if (styleStorage != null) {
@@ -405,43 +885,144 @@ class MessageTranslatorImpl implements MessageTranslator {
 
     @Override
     public void loadLocales() {
-        if (parent != null) {
-            parent.loadLocales();
-        }
+        reloadLocales();
+    }
+
+    @Override
+    public void loadLocale(Locale locale) {
+        reloadLocale(locale);
+    }
+
+    @Override
+    public ReloadReport reloadLocales() {
+        ReloadReport report = parent == null ? ReloadReport.EMPTY : parent.reloadLocales();
         if (messageStorage != null) {
             for (Locale availableLocale : messageStorage.fetchLocales()) {
-                loadLocale(availableLocale, false);
+                report = report.and(reload(availableLocale, true));
             }
         }
+        return report;
     }
 
     @Override
-    public void loadLocale(Locale locale) {
-        loadLocale(locale, true);
+    public ReloadReport reloadLocale(Locale locale) {
+        ReloadReport report = parent == null ? ReloadReport.EMPTY : parent.reloadLocale(locale);
+        return report.and(reload(locale, true));
     }
 
-    private void loadLocale(Locale locale, boolean parentCall) {
-        if (parentCall && parent != null) {
-            parent.loadLocale(locale);
+    /**
+     * Reads a locale from storage and publishes all changed messages at once. Unchanged messages keep their instance,
+     * so that their templates and rendered components stay valid. Does not propagate to parents.
+     * <p>
+     * The new messages are computed and validated without holding the write lock. If another thread modified the
+     * messages in the meantime, they are computed again based on the modified messages.
+     *
+     * @param validateAll Whether all messages are checked for reference loops or only the changed messages and the
+     *                    messages that reference them.
+     */
+    ReloadReport reload(Locale locale, boolean validateAll) {
+        long start = System.nanoTime();
+        MessageStorage storage = messageStorage;
+        Map<TranslationKey, StorageEntry> entries = storage == null ? Map.of() : readMessages(storage, locale);
+
+        PendingReload pending;
+        while (true) {
+            PersistentHashMap<TranslationKey, Message> current;
+            Map<TranslationKey, Message> stored;
+            Set<TranslationKey> storedLocaleKeys;
+            long version;
+            synchronized (writeLock) {
+                current = state.messages();
+                stored = new HashMap<>(storedMessages);
+                storedLocaleKeys = storedKeys.getOrDefault(locale, Set.of());
+                version = storedVersion;
+            }
+            pending = pendingReload(locale, entries, current, stored, storedLocaleKeys, validateAll);
+            synchronized (writeLock) {
+                if (state.messages() != current || storedVersion != version) {
+                    continue;
+                }
+                storedKeys.put(locale, Set.copyOf(entries.keySet()));
+                storedMessages.clear();
+                storedMessages.putAll(pending.stored());
+                storedVersion++;
+                if (pending.messages() != current) {
+                    publishMessages(pending.messages(), pending.added(), pending.removedKeys());
+                }
+                break;
+            }
         }
-        if (messageStorage != null) {
-            Map<String, StorageEntry> keys = new HashMap<>();
-            messageStorage.readMessages(locale).forEach((translationKey, s) -> {
-                if (messageSet.containsKey(translationKey)) {
-                    Message msg = messageSet.get(translationKey);
-                    messageSet.put(msg.getKey(), msg.dictionaryEntry(locale, s.value()).comment(s.comment()));
-                } else {
-                    keys.put(translationKey.key(), s);
+
+        if (!pending.added().isEmpty() || !pending.removedKeys().isEmpty()) {
+            // templates of other messages might have resolved references to these keys while compiling
+            invalidateRenderCaches();
+        } else if (!pending.changed().isEmpty() || !pending.removed().isEmpty()) {
+            Set<TranslationKey> keys = new HashSet<>(pending.changed());
+            keys.addAll(pending.removed());
+            root().evict(keys);
+        }
+        return new ReloadReport(Set.of(locale), Collections.unmodifiableSet(pending.added()),
+                Collections.unmodifiableSet(pending.changed()), Collections.unmodifiableSet(pending.removed()),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * The messages that a reload publishes, computed from a snapshot of the messages.
+     *
+     * @param stored      The messages that only exist because the storage provided them.
+     * @param removed     The keys that do not exist or are not translated into the locale anymore.
+     * @param removedKeys The keys that do not exist anymore.
+     */
+    private record PendingReload(PersistentHashMap<TranslationKey, Message> messages,
+                                 Map<TranslationKey, Message> stored, Set<TranslationKey> added,
+                                 Set<TranslationKey> changed, Set<TranslationKey> removed,
+                                 List<TranslationKey> removedKeys) {
+    }
+
+    private PendingReload pendingReload(Locale locale, Map<TranslationKey, StorageEntry> entries,
+                                        PersistentHashMap<TranslationKey, Message> current,
+                                        Map<TranslationKey, Message> stored, Set<TranslationKey> storedLocaleKeys,
+                                        boolean validateAll) {
+        Map<TranslationKey, Message> messages = new HashMap<>(current);
+        // messages that have been replaced since the last reload are not owned by the storage anymore
+        stored.entrySet().removeIf(e -> current.get(e.getKey()) != e.getValue());
+        entries.forEach((key, entry) -> {
+            Message msg = messages.get(key);
+            if (msg == null) {
+                MessageBuilder builder = new MessageBuilder(key.key()).withTranslation(locale, entry.value());
+                if (entry.comment() != null) {
+                    builder.withComment(entry.comment());
                 }
-            });
-            keys.forEach((k, v) -> messageBuilder(k)
-                    .withTranslation(locale, v.value())
-                    .withComment(v.comment())
-                    .build());
+                msg = builder.build(this);
+                stored.put(msg.getKey(), msg);
+            } else if (!Objects.equals(msg.dictionary().get(locale), entry.value())
+                    || !Objects.equals(msg.comment(), entry.comment())) {
+                msg = msg.dictionaryEntry(locale, entry.value()).comment(entry.comment());
+            } else {
+                return;
+            }
+            messages.put(msg.getKey(), msg);
+        });
+        // messages that only exist because of the storage lose translations that the storage does not provide anymore
+        for (TranslationKey key : storedLocaleKeys) {
+            Message msg = messages.get(key);
+            if (entries.containsKey(key) || msg == null || !stored.containsKey(key)) {
+                continue;
+            }
+            Map<Locale, String> dict = new HashMap<>(msg.dictionary());
+            dict.remove(locale);
+            if (dict.isEmpty()) {
+                messages.remove(key);
+            } else {
+                messages.put(key, msg.dictionary(dict));
+            }
         }
-        MessageReferenceLoopDetector loopDetector = new MessageReferenceLoopDetector();
+
+        MessageReferenceLoopDetector loopDetector = new MessageReferenceLoopDetector(this, messages);
+        Collection<Message> validate = validateAll ? messages.values() : loopDetector.dependents(
+                messages.keySet().stream().filter(key -> current.get(key) != messages.get(key)).toList(), locale);
         Collection<Message> loops = new LinkedList<>();
-        messageSet.values().forEach((message) -> {
+        validate.forEach((message) -> {
             var loop = loopDetector.detectLoops(message, locale);
             if (loop == null) {
                 return;
@@ -451,15 +1032,65 @@ class MessageTranslatorImpl implements MessageTranslator {
             loops.add(message.dictionary(dict));
             logger.severe(loop.getMessage());
         });
-        loops.forEach(msg -> {
-            messageSet.put(msg.getKey(), msg);
-        });
+        loops.forEach(msg -> messages.put(msg.getKey(), msg));
+
+        Set<TranslationKey> added = new LinkedHashSet<>();
+        Set<TranslationKey> changed = new LinkedHashSet<>();
+        Set<TranslationKey> removed = new LinkedHashSet<>();
+        List<TranslationKey> removedKeys = new ArrayList<>();
+        PersistentHashMap<TranslationKey, Message> next = current;
+        for (Map.Entry<TranslationKey, Message> e : messages.entrySet()) {
+            Message before = current.get(e.getKey());
+            if (before == null) {
+                added.add(e.getKey());
+            } else if (before != e.getValue()) {
+                boolean translated = before.dictionary().get(locale) != null;
+                (translated && e.getValue().dictionary().get(locale) == null ? removed : changed).add(e.getKey());
+            } else {
+                continue;
+            }
+            next = next.plus(e.getKey(), e.getValue());
+        }
+        for (TranslationKey key : current.keySet()) {
+            if (!messages.containsKey(key)) {
+                removed.add(key);
+                removedKeys.add(key);
+                next = next.minus(key);
+            }
+        }
+
+        stored.keySet().retainAll(messages.keySet());
+        stored.replaceAll((key, msg) -> messages.get(key));
+        return new PendingReload(next, stored, added, changed, removed, removedKeys);
+    }
+
+    private MessageTranslatorImpl root() {
+        MessageTranslatorImpl root = this;
+        while (root.parent instanceof MessageTranslatorImpl impl) {
+            root = impl;
+        }
+        return root;
+    }
+
+    /**
+     * Removes the templates and rendered components of the given messages from the caches of this translator and all
+     * its forks. Any translator might have rendered the messages of its parents.
+     */
+    private void evict(Set<TranslationKey> keys) {
+        templates.keySet().removeIf(key -> keys.contains(key.key()));
+        renderedMessages.keySet().removeIf(key -> keys.contains(key.key()));
+        translations.keySet().removeIf(key -> keys.contains(key.key()));
+        for (MessageTranslator child : children.values()) {
+            if (child instanceof MessageTranslatorImpl impl) {
+                impl.evict(keys);
+            }
+        }
     }
 
     @Override
     public void saveLocale(Locale locale) {
         if (messageStorage != null) {
-            messageStorage.writeMessages(messageSet.values(), locale);
+            messageStorage.writeMessages(state.messages().values(), locale);
         }
     }
 
@@ -468,7 +1099,7 @@ class MessageTranslatorImpl implements MessageTranslator {
         if (messageStorage == null) {
             return;
         }
-        Map<TranslationKey, StorageEntry> loadedValues = messageStorage.readMessages(locale);
+        Map<TranslationKey, StorageEntry> loadedValues = readMessages(messageStorage, locale);
         List<Message> list = new ArrayList<>();
         for (Message message : messages) {
             Message stored = getMessage(message.getKey());
@@ -496,7 +1127,7 @@ class MessageTranslatorImpl implements MessageTranslator {
         if (messageStorage == null) {
             return;
         }
-        Map<TranslationKey, StorageEntry> loadedValues = messageStorage.readMessages(locale);
+        Map<TranslationKey, StorageEntry> loadedValues = readMessages(messageStorage, locale);
         List<Message> toOverride = new LinkedList<>();
         for (Map.Entry<Message, String> e : messages.entrySet()) {
             StorageEntry present = loadedValues.get(e.getKey().getKey());
@@ -515,20 +1146,31 @@ class MessageTranslatorImpl implements MessageTranslator {
         messageStorage.overwriteMessages(toOverride, locale);
     }
 
+    @Override
+    public Collection<TagResolver> getResolvers() {
+        return state.resolvers();
+    }
+
     @Override
     public MessageTranslator formatted(TagResolver... resolver) {
-        this.resolvers.addAll(List.of(resolver));
+        update(s -> {
+            List<TagResolver> resolvers = new ArrayList<>(s.resolvers());
+            resolvers.addAll(List.of(resolver));
+            return s.resolvers(resolvers);
+        });
+        resolversChanged();
         return this;
     }
 
     @Override
     public Map<String, InsertedObject> insertedObjects() {
-        return insertedObjects;
+        return state.objects().objects();
     }
 
     @Override
     public <T> MessageTranslator insertObject(@NotNull String key, T obj, Collection<TinyObjectMapping> resolvers) {
-        insertedObjects.put(key, new InsertedObject(key, obj, resolvers));
+        update(s -> s.objects(s.objects().object(new InsertedObject(key, obj, resolvers))));
+        invalidateRenderCaches();
         return this;
     }
 
@@ -557,12 +1199,12 @@ class MessageTranslatorImpl implements MessageTranslator {
     @Override
     public void register(@KeyPattern @NotNull String key, @NotNull Locale locale, @NotNull MessageFormat format) {
         var dict = Map.of(locale, format.toPattern());
-        messageSet.getOrDefault(TranslationKey.of(key), message(key).dictionary(dict));
+        messageSet.getOrDefault(TranslationKey.of(getPath(), key), message(key).dictionary(dict));
     }
 
     @Override
     public void unregister(@KeyPattern @NotNull String key) {
-        messageSet.remove(TranslationKey.of(key));
+        messageSet.remove(TranslationKey.of(getPath(), key));
     }
 
     @Override
@@ -0,0 +1,51 @@
+package de.cubbossa.tinytranslations;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * The result of reloading locales from a {@link de.cubbossa.tinytranslations.storage.MessageStorage}. Messages whose
+ * translation and comment did not change are kept as they are and are not part of the report.
+ *
+ * @param locales  The reloaded locales.
+ * @param added    The keys of messages that the storage introduced.
+ * @param changed  The keys of messages whose translation or comment changed.
+ * @param removed  The keys of messages that lost the translation for one of the reloaded locales, either because the
+ *                 storage does not provide it anymore or because the translation references itself.
+ * @param duration The time it took to read, compare and publish the locales.
+ */
+public record ReloadReport(Set<Locale> locales, Set<TranslationKey> added, Set<TranslationKey> changed,
+                           Set<TranslationKey> removed, Duration duration) {
+
+    public static final ReloadReport EMPTY = new ReloadReport(Set.of(), Set.of(), Set.of(), Set.of(), Duration.ZERO);
+
+    /**
+     * @return true, if no message changed.
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+
+    /**
+     * Combines two reports of consecutive reloads.
+     *
+     * @param other The report of the following reload.
+     * @return A report that contains the locales and keys of both reports and their total duration.
+     */
+    public ReloadReport and(ReloadReport other) {
+        if (other == EMPTY) {
+            return this;
+        }
+        if (this == EMPTY) {
+            return other;
+        }
+        return new ReloadReport(union(locales, other.locales), union(added, other.added),
+                union(changed, other.changed), union(removed, other.removed), duration.plus(other.duration));
+    }
+
+    private static <T> Set<T> union(Set<T> a, Set<T> b) {
+        Set<T> set = new LinkedHashSet<>(a);
+        set.addAll(b);
+        return Collections.unmodifiableSet(set);
+    }
+}
@@ -0,0 +1,183 @@
+package de.cubbossa.tinytranslations;
+
+import de.cubbossa.tinytranslations.tinyobject.InsertedObject;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The objects and resolvers that have been inserted into a message or translator. Scopes are immutable linked lists,
+ * inserting an argument creates a new head that shares all previous arguments. A scope can be nested into an outer
+ * scope, like the scope of a message into the scope of its translator and the scope of the translator into the one
+ * of its parent. Lookups continue in the outer scope if the inner scope does not contain an object.
+ */
+final class Scope {
+
+    static final Scope EMPTY = new Scope(null, null, null, null);
+
+    private final @Nullable Scope next;
+    private final @Nullable InsertedObject object;
+    private final @Nullable TagResolver resolver;
+    // if present, this node joins the inner scope "next" with this outer scope
+    private final @Nullable Scope outer;
+
+    private Scope(@Nullable Scope next, @Nullable InsertedObject object, @Nullable TagResolver resolver,
+                  @Nullable Scope outer) {
+        this.next = next;
+        this.object = object;
+        this.resolver = resolver;
+        this.outer = outer;
+    }
+
+    static Scope of(Collection<InsertedObject> objects) {
+        Scope scope = EMPTY;
+        for (InsertedObject object : objects) {
+            scope = scope.object(object);
+        }
+        return scope;
+    }
+
+    /**
+     * @return A scope that contains the given object in addition to all arguments of this scope. The object
+     * replaces objects of this scope with the same key.
+     */
+    Scope object(InsertedObject object) {
+        return new Scope(this, object, null, null);
+    }
+
+    /**
+     * @return A scope that contains the given resolvers after all resolvers of this scope.
+     */
+    Scope resolvers(TagResolver... resolvers) {
+        Scope scope = this;
+        for (TagResolver resolver : resolvers) {
+            scope = new Scope(scope, null, resolver, null);
+        }
+        return scope;
+    }
+
+    /**
+     * @return A scope that contains all arguments of this scope followed by the arguments of the outer scope.
+     */
+    Scope within(Scope outer) {
+        if (outer == EMPTY) {
+            return this;
+        }
+        if (this == EMPTY) {
+            return outer;
+        }
+        return new Scope(this, null, null, outer);
+    }
+
+    /**
+     * @return The object with the given key that has been inserted last, first looking into this scope and then
+     * into the outer scopes.
+     */
+    @Nullable InsertedObject object(String key) {
+        for (Scope s = this; s != null; s = s.next) {
+            if (s.outer != null) {
+                InsertedObject o = s.next.object(key);
+                return o != null ? o : s.outer.object(key);
+            }
+            if (s.object != null && s.object.descriptor().equals(key)) {
+                return s.object;
+            }
+        }
+        return null;
+    }
+
+    boolean hasObjects() {
+        for (Scope s = this; s != null; s = s.next) {
+            if (s.outer != null) {
+                return s.next.hasObjects() || s.outer.hasObjects();
+            }
+            if (s.object != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean hasResolvers() {
+        for (Scope s = this; s != null; s = s.next) {
+            if (s.outer != null) {
+                return s.next.hasResolvers() || s.outer.hasResolvers();
+            }
+            if (s.resolver != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return All resolvers in the order they have been inserted, resolvers of inner scopes first.
+     */
+    List<TagResolver> resolvers() {
+        List<TagResolver> resolvers = new ArrayList<>();
+        collectResolvers(resolvers);
+        return Collections.unmodifiableList(resolvers);
+    }
+
+    private void collectResolvers(List<TagResolver> resolvers) {
+        Deque<TagResolver> inserted = new ArrayDeque<>();
+        Scope s = this;
+        for (; s != null && s.outer == null; s = s.next) {
+            if (s.resolver != null) {
+                inserted.addFirst(s.resolver);
+            }
+        }
+        if (s != null) {
+            s.next.collectResolvers(resolvers);
+            s.outer.collectResolvers(resolvers);
+        }
+        resolvers.addAll(inserted);
+    }
+
+    /**
+     * @return A read only view on the objects of this scope and its outer scopes.
+     */
+    Map<String, InsertedObject> objects() {
+        return this == EMPTY ? Collections.emptyMap() : new ObjectView();
+    }
+
+    private void collectObjects(Map<String, InsertedObject> objects) {
+        for (Scope s = this; s != null; s = s.next) {
+            if (s.outer != null) {
+                s.next.collectObjects(objects);
+                s.outer.collectObjects(objects);
+                return;
+            }
+            if (s.object != null) {
+                objects.putIfAbsent(s.object.descriptor(), s.object);
+            }
+        }
+    }
+
+    private final class ObjectView extends AbstractMap<String, InsertedObject> {
+
+        @Override
+        public InsertedObject get(Object key) {
+            return key instanceof String s ? object(s) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return !hasObjects();
+        }
+
+        @Override
+        public @NotNull Set<Entry<String, InsertedObject>> entrySet() {
+            Map<String, InsertedObject> objects = new LinkedHashMap<>();
+            collectObjects(objects);
+            return Collections.unmodifiableMap(objects).entrySet();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package de.cubbossa.tinytranslations;
+
+import de.cubbossa.tinytranslations.storage.FileMessageStorage;
+import de.cubbossa.tinytranslations.storage.FileStyleStorage;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches the files of the {@link FileMessageStorage} and {@link FileStyleStorage} of a translator and reloads them
+ * once they change. Bursts of file events, like editors that write a file in several steps, are collected until no
+ * event occurred for the debounce duration. Only the locales and styles whose files changed are reloaded, and only
+ * the changed messages and the messages that reference them are checked for reference loops again.
+ * <p>
+ * Reloads only affect the watched translator, parents must be watched separately.
+ */
+public final class StorageWatcher implements Closeable {
+
+    private final MessageTranslator translator;
+    private final Duration debounce;
+    private final Consumer<ReloadReport> listener;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Thread thread;
+
+    private StorageWatcher(MessageTranslator translator, Duration debounce, Consumer<ReloadReport> listener)
+            throws IOException {
+        this.translator = translator;
+        this.debounce = debounce;
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+
+        Set<Path> paths = new HashSet<>();
+        if (translator.getMessageStorage() instanceof FileMessageStorage storage) {
+            paths.add(storage.getDirectory().toPath().toAbsolutePath());
+        }
+        if (translator.getStyleStorage() instanceof FileStyleStorage storage) {
+            File parent = storage.getFile().getAbsoluteFile().getParentFile();
+            parent.mkdirs();
+            paths.add(parent.toPath());
+        }
+        for (Path path : paths) {
+            directories.put(path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), path);
+        }
+        this.thread = new Thread(this::run, "TinyTranslations-Watcher-" + translator.getPath());
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts watching the storages of a translator.
+     *
+     * @param translator The translator to reload.
+     * @param debounce   The duration without file events after which changed files are reloaded.
+     * @param listener   Receives the report of every reload. Style reloads are reported without locales and keys.
+     * @return The running watcher, which must be closed once the translator is closed.
+     * @throws IOException if the storage directories cannot be watched.
+     */
+    public static StorageWatcher watch(MessageTranslator translator, Duration debounce,
+                                       Consumer<ReloadReport> listener) throws IOException {
+        StorageWatcher watcher = new StorageWatcher(translator, debounce, listener);
+        watcher.thread.start();
+        return watcher;
+    }
+
+    public static StorageWatcher watch(MessageTranslator translator, Duration debounce) throws IOException {
+        return watch(translator, debounce, report -> {
+        });
+    }
+
+    private void run() {
+        Set<Path> changed = new LinkedHashSet<>();
+        long deadline = 0;
+        try {
+            while (true) {
+                WatchKey key;
+                if (changed.isEmpty()) {
+                    key = watchService.take();
+                } else {
+                    long remaining = deadline - System.nanoTime();
+                    key = remaining > 0 ? watchService.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                }
+                if (key != null) {
+                    Path directory = directories.get(key);
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (directory != null && event.context() instanceof Path path) {
+                            changed.add(directory.resolve(path));
+                        }
+                    }
+                    key.reset();
+                    deadline = System.nanoTime() + debounce.toNanos();
+                    continue;
+                }
+                try {
+                    reload(changed);
+                } catch (Throwable t) {
+                    TinyTranslations.getLogger().log(Level.SEVERE, "Could not reload changed storage files.", t);
+                }
+                changed.clear();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // watcher has been closed
+        }
+    }
+
+    /**
+     * Reloads the locales and styles that the given files contain.
+     *
+     * @param files The changed files.
+     */
+    void reload(Collection<Path> files) {
+        Set<Locale> locales = new LinkedHashSet<>();
+        boolean styles = false;
+        for (Path path : files) {
+            File file = path.toFile();
+            if (translator.getStyleStorage() instanceof FileStyleStorage storage
+                    && storage.getFile().getAbsoluteFile().equals(file.getAbsoluteFile())) {
+                styles = true;
+                continue;
+            }
+            Locale locale = localeOf(file);
+            if (locale != null) {
+                locales.add(locale);
+            }
+        }
+        if (styles) {
+            long start = System.nanoTime();
+            if (translator instanceof MessageTranslatorImpl impl) {
+                impl.reloadStyles();
+            } else {
+                translator.loadStyles();
+            }
+            listener.accept(new ReloadReport(Set.of(), Set.of(), Set.of(), Set.of(),
+                    Duration.ofNanos(System.nanoTime() - start)));
+        }
+        for (Locale locale : locales) {
+            listener.accept(translator instanceof MessageTranslatorImpl impl
+                    ? impl.reload(locale, false)
+                    : translator.reloadLocale(locale));
+        }
+    }
+
+    private @Nullable Locale localeOf(File file) {
+        return translator.getMessageStorage() instanceof FileMessageStorage storage ? storage.localeOf(file) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+}
@@ -1,15 +1,31 @@
 package de.cubbossa.tinytranslations;
 
+import de.cubbossa.tinytranslations.util.PersistentHashMap;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.Style;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.intellij.lang.annotations.Language;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.util.*;
 
-public class StyleSet extends HashMap<String, MessageStyle> {
+/**
+ * The styles of a translator. Every modification invalidates the cached render results of all translators.
+ * <p>
+ * Styles are stored copy-on-write: modifications publish a new immutable snapshot, so renders on other threads can
+ * read and iterate the styles while they are being modified or reloaded. Iterators and entries reflect the snapshot of
+ * the moment they were created, their modifications are written to the style set.
+ * <p>
+ * All modifications go through {@link #put(String, MessageStyle)}, {@link #putAll(Map)}, {@link #remove(Object)} or
+ * {@link #clear()}, so the default methods of {@link Map} like {@link #merge} or {@link #computeIfAbsent} invalidate
+ * the caches as well. Caches are invalidated after the modification, so that renders that ran in between can't cache
+ * the previous style for the new generation.
+ */
+public class StyleSet extends AbstractMap<String, MessageStyle> {
 
     private final MiniMessage miniMessage = MiniMessage.builder().strict(true).build();
+    private volatile PersistentHashMap<String, MessageStyle> styles = PersistentHashMap.empty();
 
     public StyleSet() {
         super();
@@ -23,4 +39,115 @@ public class StyleSet extends HashMap<String, MessageStyle> {
     public void put(String key, @Language("NanoMessage") String serializedStyle) {
         this.put(key, MessageStyle.messageStyle(key, serializedStyle));
     }
+
+    @Override
+    public MessageStyle get(Object key) {
+        return styles.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return styles.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return styles.size();
+    }
+
+    @Override
+    public MessageStyle put(String key, MessageStyle value) {
+        MessageStyle previous;
+        synchronized (this) {
+            previous = styles.get(key);
+            styles = styles.plus(key, value);
+        }
+        MessageTranslatorImpl.invalidateRenderCaches();
+        return previous;
+    }
+
+    /**
+     * Adds all styles at once, renders either see none or all of them.
+     */
+    @Override
+    public void putAll(Map<? extends String, ? extends MessageStyle> m) {
+        synchronized (this) {
+            PersistentHashMap<String, MessageStyle> styles = this.styles;
+            for (Entry<? extends String, ? extends MessageStyle> e : m.entrySet()) {
+                styles = styles.plus(e.getKey(), e.getValue());
+            }
+            this.styles = styles;
+        }
+        MessageTranslatorImpl.invalidateRenderCaches();
+    }
+
+    @Override
+    public MessageStyle remove(Object key) {
+        MessageStyle previous;
+        synchronized (this) {
+            previous = styles.get(key);
+            styles = styles.minus(key);
+        }
+        MessageTranslatorImpl.invalidateRenderCaches();
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        synchronized (this) {
+            styles = PersistentHashMap.empty();
+        }
+        MessageTranslatorImpl.invalidateRenderCaches();
+    }
+
+    @Override
+    public @NotNull Set<Entry<String, MessageStyle>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Entry<String, MessageStyle>> iterator() {
+                Iterator<Entry<String, MessageStyle>> iterator = styles.entrySet().iterator();
+                return new Iterator<>() {
+                    private @Nullable Entry<String, MessageStyle> last;
+
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, MessageStyle> next() {
+                        last = new StyleEntry(iterator.next());
+                        return last;
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null) {
+                            throw new IllegalStateException();
+                        }
+                        StyleSet.this.remove(last.getKey());
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return styles.size();
+            }
+        };
+    }
+
+    private final class StyleEntry extends SimpleEntry<String, MessageStyle> {
+
+        private StyleEntry(Entry<String, MessageStyle> entry) {
+            super(entry);
+        }
+
+        @Override
+        public MessageStyle setValue(MessageStyle value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
 }
@@ -5,17 +5,28 @@ import de.cubbossa.tinytranslations.storage.properties.PropertiesMessageStorage;
 import de.cubbossa.tinytranslations.storage.properties.PropertiesStyleStorage;
 import de.cubbossa.tinytranslations.tinyobject.TinyObjectMapping;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
 import net.kyori.adventure.text.minimessage.tag.resolver.Formatter;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.translation.GlobalTranslator;
 
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -25,11 +36,107 @@ public class TinyTranslations {
     private static final Logger LOGGER = Logger.getLogger("Translations");
     public static final Locale FALLBACK_DEFAULT_LOCALE = Locale.ENGLISH;
 
-    public static final NanoMessage NM = NanoMessage.nanoMessage();
+    /**
+     * The NanoMessage instance that renders all messages. Set the system property "tinytranslations.nanomessage" to
+     * "native" to render messages without compiling them into MiniMessage strings first.
+     */
+    public static final NanoMessage NM = "native".equalsIgnoreCase(System.getProperty("tinytranslations.nanomessage"))
+            ? NanoMessage.nativeNanoMessage()
+            : NanoMessage.nanoMessage();
+
+    private static volatile NanoMessage nanoMessage = NM;
+
+    // renders that are queued before submitting threads render on their own
+    private static final int RENDER_QUEUE_CAPACITY = 1024;
+    private static volatile Executor renderExecutor = "virtual".equalsIgnoreCase(System.getProperty("tinytranslations.executor"))
+            ? virtualThreadExecutor().orElseGet(TinyTranslations::threadPoolExecutor)
+            : threadPoolExecutor();
 
     protected TinyTranslations() {
     }
 
+    /**
+     * @return The NanoMessage instance that translators render with, {@link #NM} unless replaced for tests.
+     */
+    static NanoMessage nanoMessage() {
+        return nanoMessage;
+    }
+
+    /**
+     * Replaces the NanoMessage instance that translators render with. Templates that have been compiled before keep
+     * the instance that compiled them, so this must happen before any message is rendered.
+     */
+    static void setNanoMessage(NanoMessage nanoMessage) {
+        TinyTranslations.nanoMessage = Objects.requireNonNull(nanoMessage);
+    }
+
+    /**
+     * The executor that asynchronous translations like {@link MessageTranslator#translateAsync(Message, Locale, TagResolver...)}
+     * run on. Defaults to a pool of one daemon thread per processor with a bounded queue. If the queue is full, the
+     * submitting thread renders the message itself. Set the system property "tinytranslations.executor" to "virtual" to
+     * render on virtual threads instead, if the runtime supports them.
+     * <p>
+     * Messages are rendered concurrently on the executor. Therefore, all resolvers and object mappings that are used
+     * while rendering must be thread safe, and their results must not depend on the thread that renders them.
+     * Messages, resolvers and objects of translators may change at any time, for example while locales are reloaded
+     * asynchronously with {@link MessageTranslator#reloadLocalesAsync()}.
+     *
+     * @return The executor for asynchronous translations.
+     */
+    public static Executor getRenderExecutor() {
+        return renderExecutor;
+    }
+
+    /**
+     * Sets the executor that asynchronous translations run on, see {@link #getRenderExecutor()}.
+     *
+     * @param executor The executor for asynchronous translations.
+     */
+    public static void setRenderExecutor(Executor executor) {
+        renderExecutor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Creates an executor that runs every task on a new virtual thread. Virtual threads are available on Java 21 and
+     * later, they are cheap enough to block on object mappings like {@link CompletableFuture#join()}.
+     *
+     * @return An executor that uses virtual threads or an empty optional, if the runtime does not support them.
+     */
+    public static Optional<Executor> virtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Optional.of((Executor) factory.invoke(null));
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Executor threadPoolExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        int threads = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(RENDER_QUEUE_CAPACITY), runnable -> {
+            Thread thread = new Thread(runnable, "TinyTranslations-Render-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        // idle applications don't keep render threads around
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Renders a component asynchronously on the {@link #getRenderExecutor() render executor}. All translatable
+     * components, like messages, are translated into the given locale.
+     *
+     * @param component The component to render.
+     * @param locale    The locale to render the component in.
+     * @return A future that completes with the rendered component.
+     */
+    public static CompletableFuture<Component> renderAsync(ComponentLike component, Locale locale) {
+        return CompletableFuture.supplyAsync(() -> GlobalTranslator.render(component.asComponent(), locale), renderExecutor);
+    }
+
     public static Logger getLogger() {
         return LOGGER;
     }
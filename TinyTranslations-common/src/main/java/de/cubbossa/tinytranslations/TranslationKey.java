@@ -15,11 +15,15 @@ import org.jetbrains.annotations.Nullable;
  * stored.
  * SQL storages might want to store messages of all translators with their NamespacedKey format in one schema.
  * File based files might want to have one file per translator, so the file will only contain a key and no namespace.
+ * <p>
+ * Two keys are equal if both namespace and key are equal. A key without namespace therefore does not equal the same
+ * key of any translator, translators treat keys without namespace as their own keys instead.
+ * Keys are interned, {@link #of(String, String)} returns the same instance for the same namespace and key.
  */
 public interface TranslationKey {
 
     static TranslationKey of(@KeyPattern String namespace, @KeyPattern String key) {
-        return new TranslationKeyImpl(namespace, key);
+        return TranslationKeyImpl.of(namespace, key);
     }
 
     static TranslationKey of(@KeyPattern String key) {
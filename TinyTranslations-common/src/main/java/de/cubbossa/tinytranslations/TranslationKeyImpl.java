@@ -3,47 +3,101 @@ package de.cubbossa.tinytranslations;
 import de.cubbossa.tinytranslations.annotation.KeyPattern;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
-record TranslationKeyImpl(@KeyPattern @Nullable String namespace,
-                          @KeyPattern @Nullable String key) implements TranslationKey {
+/**
+ * Canonical translation keys. There is only one instance per namespace and key, so that map lookups of keys that
+ * have been created by {@link TranslationKey#of(String, String)} end with a reference comparison. Both string
+ * representations and the hash are computed once.
+ */
+final class TranslationKeyImpl implements TranslationKey {
 
-    TranslationKeyImpl(@Nullable @KeyPattern String namespace, @Nullable @KeyPattern String key) {
+    // namespace -> key -> instance. Keys are never released, like string literals there are only as many keys as
+    // messages are being declared.
+    private static final Map<String, Map<String, TranslationKeyImpl>> NAMESPACES = new ConcurrentHashMap<>();
+    private static final Map<String, TranslationKeyImpl> NO_NAMESPACE = new ConcurrentHashMap<>();
+
+    private final @Nullable String namespace;
+    private final @Nullable String key;
+    private final String namespacedKey;
+    private final String translationKey;
+    private final int hash;
+
+    private TranslationKeyImpl(@Nullable @KeyPattern String namespace, @Nullable @KeyPattern String key) {
         this.namespace = namespace;
         this.key = key;
+        this.namespacedKey = asString(':');
+        this.translationKey = asString('.');
+        this.hash = 31 * Objects.hashCode(namespace) + Objects.hashCode(key);
+    }
+
+    static TranslationKeyImpl of(@Nullable String namespace, @Nullable String key) {
+        if (key == null) {
+            return new TranslationKeyImpl(namespace, null);
+        }
+        Map<String, TranslationKeyImpl> keys = namespace == null
+                ? NO_NAMESPACE
+                : NAMESPACES.computeIfAbsent(namespace, s -> new ConcurrentHashMap<>());
+        TranslationKeyImpl instance = keys.get(key);
+        return instance != null ? instance : keys.computeIfAbsent(key, k -> new TranslationKeyImpl(namespace, k));
+    }
+
+    /**
+     * Looks up the canonical key without creating it. Keys that have never been created cannot be the key of any
+     * message, which allows lookups with arbitrary strings without growing the pool.
+     *
+     * @return The canonical instance or null, if no such key has been created yet.
+     */
+    static @Nullable TranslationKeyImpl find(@Nullable String namespace, String key) {
+        Map<String, TranslationKeyImpl> keys = namespace == null ? NO_NAMESPACE : NAMESPACES.get(namespace);
+        return keys == null ? null : keys.get(key);
+    }
+
+    private String asString(char separator) {
+        return (namespace == null ? "" : (namespace + separator)) + (key == null ? "" : key);
     }
 
     @Override
-    public String toString() {
-        return asNamespacedKey();
+    public @Nullable String namespace() {
+        return namespace;
     }
 
+    @Override
+    public @Nullable String key() {
+        return key;
+    }
+
+    @Override
     public String asTranslationKey() {
-        return asString('.');
+        return translationKey;
     }
 
+    @Override
     public String asNamespacedKey() {
-        return asString(':');
+        return namespacedKey;
     }
 
-    private String asString(char separator) {
-        return (namespace() == null ? "" : (namespace() + separator)) + (key() == null ? "" : key());
+    @Override
+    public String toString() {
+        return namespacedKey;
     }
 
     @Override
     public boolean equals(Object obj) {
         if (obj == this) return true;
+        if (obj instanceof TranslationKeyImpl t) {
+            return hash == t.hash && Objects.equals(namespace, t.namespace) && Objects.equals(key, t.key);
+        }
         if (obj instanceof TranslationKey t) {
-            if (t.asTranslationKey().equals(asTranslationKey())) {
-                return true;
-            }
-            return (t.namespace() == null || namespace == null) && Objects.equals(t.key(), key);
+            return Objects.equals(namespace, t.namespace()) && Objects.equals(key, t.key());
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        return key().hashCode();
+        return hash;
     }
 }
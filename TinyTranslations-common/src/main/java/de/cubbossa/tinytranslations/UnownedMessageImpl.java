@@ -67,8 +67,7 @@ class UnownedMessageImpl implements UnownedMessage {
 
     @Override
     public <T> Message insertObject(@NotNull String key, T obj, Collection<TinyObjectMapping> additionalResolvers) {
-        ref.insertObject(key, obj, additionalResolvers);
-        return this;
+        return wrap(ref.insertObject(key, obj, additionalResolvers));
     }
 
     @Override
@@ -0,0 +1,42 @@
+package de.cubbossa.tinytranslations.nanomessage;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+import java.util.List;
+
+/**
+ * Template for NanoMessage implementations that can't render a pre parsed tree. Rendering deserializes the source
+ * string, holes are only collected if requested.
+ */
+final class DeserializingNanoTemplate implements NanoTemplate {
+
+    private final NanoMessage nanoMessage;
+    private final String source;
+    private volatile List<Hole> holes;
+
+    DeserializingNanoTemplate(NanoMessage nanoMessage, String source) {
+        this.nanoMessage = nanoMessage;
+        this.source = source;
+    }
+
+    @Override
+    public String source() {
+        return source;
+    }
+
+    @Override
+    public List<Hole> holes() {
+        List<Hole> holes = this.holes;
+        if (holes == null) {
+            holes = TemplateHoles.collect(source);
+            this.holes = holes;
+        }
+        return holes;
+    }
+
+    @Override
+    public Component render(TagResolver... resolvers) {
+        return nanoMessage.deserialize(source, resolvers);
+    }
+}
@@ -0,0 +1,176 @@
+package de.cubbossa.tinytranslations.nanomessage;
+
+import de.cubbossa.tinytranslations.MessageStyle;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.ParsingException;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Combines resolvers like {@link TagResolver#resolver(TagResolver...)} does, the first resolver that resolves a tag
+ * wins. Instead of asking every resolver for every tag, resolvers of a single tag like placeholders and styles are
+ * indexed by their name. Which of the other resolvers resolves a tag is only looked up once per tag name.
+ * <p>
+ * Resolvers are therefore expected to always resolve the same tag names. Resolvers whose names change, like resolvers
+ * that are backed by a mutable map, must implement {@link Dynamic} and will be asked for every tag.
+ */
+public final class IndexedTagResolver implements TagResolver {
+
+    private static final int MAX_LOOKUPS = 1024;
+    private static final int NONE = -1;
+
+    /**
+     * A resolver whose tag names may change over time. Translators also render the tags of their resolvers only once
+     * per message, unless the resolver is dynamic.
+     */
+    public interface Dynamic extends TagResolver {
+    }
+
+    private final TagResolver[] resolvers;
+    private final Map<String, Integer> named;
+    private final int[] unnamed;
+    private final int[] dynamic;
+    private volatile @Nullable Map<String, Integer> lookups;
+
+    private IndexedTagResolver(List<TagResolver> resolvers, Map<String, Integer> named, int[] unnamed, int[] dynamic) {
+        this.resolvers = resolvers.toArray(TagResolver[]::new);
+        this.named = named;
+        this.unnamed = unnamed;
+        this.dynamic = dynamic;
+    }
+
+    public static IndexedTagResolver resolver(TagResolver... resolvers) {
+        return builder().resolvers(resolvers).build();
+    }
+
+    public static IndexedTagResolver resolver(Iterable<? extends TagResolver> resolvers) {
+        return builder().resolvers(resolvers).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public @Nullable Tag resolve(@NotNull String name, @NotNull ArgumentQueue arguments, @NotNull Context ctx) throws ParsingException {
+        int index = indexOf(name);
+        if (index == NONE) {
+            return null;
+        }
+        Tag tag = resolvers[index].resolve(name, arguments, ctx);
+        // a resolver might claim a tag and still not resolve it, continue like a sequential resolver would
+        for (int i = index + 1; tag == null && i < resolvers.length; i++) {
+            tag = resolvers[i].resolve(name, arguments, ctx);
+        }
+        return tag;
+    }
+
+    @Override
+    public boolean has(@NotNull String name) {
+        return indexOf(name) != NONE;
+    }
+
+    private int indexOf(String name) {
+        int index = lookup(name);
+        for (int i : dynamic) {
+            if (index != NONE && i > index) {
+                break;
+            }
+            if (resolvers[i].has(name)) {
+                return i;
+            }
+        }
+        return index;
+    }
+
+    private int lookup(String name) {
+        if (unnamed.length == 0) {
+            return named.getOrDefault(name, NONE);
+        }
+        Map<String, Integer> lookups = this.lookups;
+        if (lookups == null) {
+            lookups = new ConcurrentHashMap<>();
+            this.lookups = lookups;
+        }
+        Integer index = lookups.get(name);
+        if (index != null) {
+            return index;
+        }
+        index = named.getOrDefault(name, NONE);
+        for (int i : unnamed) {
+            if (index != NONE && i > index) {
+                break;
+            }
+            if (resolvers[i].has(name)) {
+                index = i;
+                break;
+            }
+        }
+        // tag names may come from user input, don't let them grow the index without bounds
+        if (lookups.size() < MAX_LOOKUPS) {
+            lookups.put(name, index);
+        }
+        return index;
+    }
+
+    public static final class Builder {
+
+        private final List<TagResolver> resolvers = new ArrayList<>();
+        private final Map<String, Integer> named = new HashMap<>();
+        private final List<Integer> unnamed = new ArrayList<>();
+        private final List<Integer> dynamic = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a resolver that only resolves the tag with the given name.
+         */
+        public Builder resolver(String name, TagResolver resolver) {
+            named.putIfAbsent(name, resolvers.size());
+            resolvers.add(resolver);
+            return this;
+        }
+
+        public Builder resolver(TagResolver resolver) {
+            if (resolver == TagResolver.empty()) {
+                return this;
+            }
+            if (resolver instanceof TagResolver.Single single) {
+                return resolver(single.key(), resolver);
+            }
+            if (resolver instanceof MessageStyle style) {
+                return resolver(style.getKey(), resolver);
+            }
+            (resolver instanceof Dynamic ? dynamic : unnamed).add(resolvers.size());
+            resolvers.add(resolver);
+            return this;
+        }
+
+        public Builder resolvers(TagResolver... resolvers) {
+            for (TagResolver resolver : resolvers) {
+                resolver(resolver);
+            }
+            return this;
+        }
+
+        public Builder resolvers(Iterable<? extends TagResolver> resolvers) {
+            for (TagResolver resolver : resolvers) {
+                resolver(resolver);
+            }
+            return this;
+        }
+
+        public IndexedTagResolver build() {
+            return new IndexedTagResolver(resolvers, new HashMap<>(named),
+                    unnamed.stream().mapToInt(Integer::intValue).toArray(),
+                    dynamic.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+}
@@ -12,9 +12,30 @@ import org.intellij.lang.annotations.Language;
 
 public interface NanoMessage extends ComponentSerializer<Component, Component, String> {
 
+    /**
+     * @return A NanoMessage instance that compiles NanoMessage into MiniMessage and lets MiniMessage deserialize it.
+     */
     static NanoMessage nanoMessage() {
         NanoMessageImpl nm = new NanoMessageImpl();
-        nm.defaultResolver = TagResolver.resolver(
+        nm.defaultResolver = defaultResolver();
+        return nm;
+    }
+
+    /**
+     * Creates a NanoMessage instance that resolves the parsed NanoMessage tree directly instead of passing it to
+     * MiniMessage as compiled string. Results are equal to the ones of {@link #nanoMessage()}. Messages that use
+     * syntax that can't be rendered directly are passed on to MiniMessage.
+     *
+     * @return A NanoMessage instance that renders without MiniMessage round trip where possible.
+     */
+    static NanoMessage nativeNanoMessage() {
+        NanoMessageImpl nm = new NanoMessageImpl();
+        nm.defaultResolver = defaultResolver();
+        return new NativeNanoMessage(nm);
+    }
+
+    private static TagResolver defaultResolver() {
+        return IndexedTagResolver.resolver(
                 DefaultResolvers.choice("choice"),
                 DarkerTag.RESOLVER,
                 BrighterTag.RESOLVER,
@@ -31,8 +52,17 @@ public interface NanoMessage extends ComponentSerializer<Component, Component, S
                 ClickTag.RESOLVER,
                 HoverTag.RESOLVER
         );
-        return nm;
     }
 
     Component deserialize(@Language("NanoMessage") String value, TagResolver... resolvers);
+
+    /**
+     * Parses a NanoMessage string once, so that it can be rendered repeatedly without being parsed again.
+     *
+     * @param value The NanoMessage string to compile.
+     * @return A template that renders like {@link #deserialize(String, TagResolver...)} does for the given value.
+     */
+    default NanoTemplate compile(@Language("NanoMessage") String value) {
+        return new DeserializingNanoTemplate(this, value);
+    }
 }
@@ -1,5 +1,6 @@
 package de.cubbossa.tinytranslations.nanomessage;
 
+import de.cubbossa.tinytranslations.nanomessage.compiler.CachingNanoMessageCompiler;
 import de.cubbossa.tinytranslations.nanomessage.compiler.NanoMessageCompiler;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
@@ -7,11 +8,15 @@ import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.intellij.lang.annotations.Language;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 class NanoMessageImpl implements NanoMessage {
 
-    private static final NanoMessageCompiler COMPILER = new NanoMessageCompiler();
-    private static final MiniMessage MINI_MESSAGE = MiniMessage.builder()
-            .preProcessor(COMPILER::compile)
+    private static final NanoMessageCompiler COMPILER = CachingNanoMessageCompiler.shared();
+    // compiled MiniMessage that is about to be deserialized on this thread, see deserializeCompiled
+    private static final ThreadLocal<String> COMPILED = new ThreadLocal<>();
+    static final MiniMessage MINI_MESSAGE = MiniMessage.builder()
+            .preProcessor(NanoMessageImpl::preProcess)
             .strict(false)
             .build();
 
@@ -21,10 +26,56 @@ class NanoMessageImpl implements NanoMessage {
     }
 
     public Component deserialize(@Language("NanoMessage") String value, TagResolver... resolvers) {
-        return MINI_MESSAGE.deserialize(value, TagResolver.builder()
+        return MINI_MESSAGE.deserialize(value, combine(resolvers));
+    }
+
+    /**
+     * Combines the given resolvers with the default resolvers in the priority order of {@link TagResolver#builder()}:
+     * later resolvers take priority over earlier ones, and all of them over the default resolvers.
+     * {@link IndexedTagResolver} is first-wins, so resolvers are added in reverse.
+     */
+    /**
+     * Deserializes a string that has already been compiled into MiniMessage. Only the string itself skips the
+     * compiler, the nested deserializations of its tags like hover or choice still compile their NanoMessage input.
+     */
+    Component deserializeCompiled(String compiled, TagResolver... resolvers) {
+        COMPILED.set(compiled);
+        try {
+            return MINI_MESSAGE.deserialize(compiled, combine(resolvers));
+        } finally {
+            COMPILED.remove();
+        }
+    }
+
+    private static String preProcess(String value) {
+        // the first pre processing of a deserialization is the one of its input
+        String compiled = COMPILED.get();
+        if (compiled != null) {
+            COMPILED.remove();
+            return compiled;
+        }
+        return COMPILER.compile(value);
+    }
+
+    /**
+     * Parses the value once, collects the holes from the parsed tree and compiles the same tree into MiniMessage.
+     */
+    @Override
+    public NanoTemplate compile(@Language("NanoMessage") String value) {
+        var root = new NanoMessageParser(new NanoMessageTokenizer().tokenize(value)).parse();
+        // compilation replaces the nodes in place, holes have to be collected first
+        List<NanoTemplate.Hole> holes = TemplateHoles.collect(root);
+        return new PrecompiledNanoTemplate(this, value, COMPILER.compile(root), holes);
+    }
+
+    TagResolver combine(TagResolver... resolvers) {
+        IndexedTagResolver.Builder builder = IndexedTagResolver.builder();
+        for (int i = resolvers.length - 1; i >= 0; i--) {
+            builder.resolver(resolvers[i]);
+        }
+        return builder
                 .resolver(defaultResolver)
-                .resolvers(resolvers)
-                .build());
+                .build();
     }
 
     @Override
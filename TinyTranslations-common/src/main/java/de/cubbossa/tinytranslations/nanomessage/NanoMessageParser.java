@@ -9,6 +9,14 @@ import java.util.function.Supplier;
 
 import static de.cubbossa.tinytranslations.nanomessage.NanoMessageTokenizer.*;
 
+/**
+ * Parses NanoMessage tokens into a tree. Elements are dispatched by their first token and memoized by position, so
+ * that every element is parsed at most once per position, however often the parser backtracks over it. Elements that
+ * can't be closed because the closing token does not occur anymore fail without being parsed at all.
+ * <p>
+ * Tags and choices can be nested {@link #MAX_NESTING} levels deep. Elements that contain deeper nested tags or choices
+ * are parsed as text, starting with the outermost element, until the remaining elements fit within the limit.
+ */
 public class NanoMessageParser extends SimpleStringParser<Token, TokenValue, String> {
 
     public static final List<String> PRE = List.of("pre", "nbt", "json", "gson", "legacy");
@@ -25,13 +33,30 @@ public class NanoMessageParser extends SimpleStringParser<Token, TokenValue, Str
     public static final String CLOSE_TAG = "CLOSE_TAG";
     public static final String SELF_CLOSING_TAG = "SELF_CLOSING_TAG";
 
-    private static final Iterable<Token> TAG_ATTR_DELIMITER = List.of(TAG_END, TAG_CLOSE);
-    private static final Iterable<Token> SELF_CLOSING_ATTR_DELIMITER = List.of(TAG_END);
-    private static final Iterable<Token> CHOICE_ATTR_DELIMITER = List.of(PH_CLOSE, CHOICE);
-    private static final Iterable<Token> PLACEHOLDER_ATTR_DELIMITER = List.of(PH_CLOSE);
+    public static final int MAX_NESTING = 256;
+
+    private static final int CONTENT_TAG_RULE = 0;
+    private static final int SELF_CLOSING_TAG_RULE = 1;
+    private static final int CHOICE_RULE = 2;
+    private static final int PLACEHOLDER_RULE = 3;
+    private static final int OPTION_CONTENTS_RULE = 4;
+    private static final int ATTRIBUTES_RULE = 5;
+
+    private enum AttributeDelimiter {
+        TAG(TAG_END, TAG_CLOSE),
+        SELF_CLOSING(TAG_END),
+        CHOICE(PH_CLOSE, NanoMessageTokenizer.CHOICE),
+        PLACEHOLDER(PH_CLOSE);
+
+        private final List<Token> tokens;
+
+        AttributeDelimiter(Token... tokens) {
+            this.tokens = List.of(tokens);
+        }
+    }
 
     public NanoMessageParser(List<TokenValue> tokens) {
-        super(tokens);
+        super(tokens, MAX_NESTING);
     }
 
     @Override
@@ -45,31 +70,54 @@ public class NanoMessageParser extends SimpleStringParser<Token, TokenValue, Str
         return value == null ? null : value.type();
     }
 
-    private boolean parseContents(Supplier<Boolean> predicate) {
+    @Override
+    protected void appendToken(StringBuilder builder, TokenValue token) {
+        token.appendTo(builder);
+    }
+
+    private void parseContents(Supplier<Boolean> predicate) {
         Marker m = mark();
-        boolean ret = true;
-        while (getTokenType() != null && predicate.get()) {
-            boolean parsedAnything = parseContentTag()
-                    || parseSelfClosingTag()
-                    || parseChoice()
-                    || parsePlaceholder()
-                    || parseText();
-            if (!parsedAnything) {
-                advance();
-            }
-            ret = ret && parsedAnything;
+        while (getTokenType() != null && !limitReached() && predicate.get()) {
+            parseElement();
         }
         m.done(CONTENTS);
-        return ret;
+    }
+
+    private void parseOptionContents() {
+        // nested choices that fail leave their options to the enclosing option, which must not parse them again
+        Marker m = mark();
+        repeat(OPTION_CONTENTS_RULE, () -> !is(SEPARATOR) && !is(PH_CLOSE), this::parseElement);
+        m.done(CONTENTS);
+    }
+
+    private void parseElement() {
+        boolean parsedAnything;
+        if (is(TAG_OPEN)) {
+            parsedAnything = parseContentTag() || parseSelfClosingTag() || parseText();
+        } else if (is(PH_OPEN)) {
+            parsedAnything = parseChoice() || parsePlaceholder() || parseText();
+        } else {
+            parsedAnything = parseText();
+        }
+        if (!parsedAnything) {
+            advance();
+        }
     }
 
     private boolean parsePlaceholder() {
+        if (!occursLater(PH_CLOSE)) {
+            return false;
+        }
+        return memoize(PLACEHOLDER_RULE, this::parsePlaceholderAt);
+    }
+
+    private boolean parsePlaceholderAt() {
         Marker m = mark();
         if (!consumeTokens(PH_OPEN)) {
             return fail(m);
         }
         consumeWhiteSpaces();
-        if (!(parseKey() && parseAttributes(PLACEHOLDER_ATTR_DELIMITER))) {
+        if (!(parseKey() && parseAttributes(AttributeDelimiter.PLACEHOLDER))) {
             return fail(m);
         }
         consumeWhiteSpaces();
@@ -81,12 +129,21 @@ public class NanoMessageParser extends SimpleStringParser<Token, TokenValue, Str
     }
 
     private boolean parseChoice() {
+        if (!occursLater(PH_CLOSE) || !enterNested()) {
+            return false;
+        }
+        boolean result = memoize(CHOICE_RULE, this::parseChoiceAt);
+        exitNested();
+        return result;
+    }
+
+    private boolean parseChoiceAt() {
         Marker m = mark();
         if (!consumeTokens(PH_OPEN)) {
             return fail(m);
         }
         consumeWhiteSpaces();
-        if (!(parseKey() && parseAttributes(CHOICE_ATTR_DELIMITER))) {
+        if (!(parseKey() && parseAttributes(AttributeDelimiter.CHOICE))) {
             return fail(m);
         }
         consumeWhiteSpaces();
@@ -97,12 +154,12 @@ public class NanoMessageParser extends SimpleStringParser<Token, TokenValue, Str
         while (again) {
             consumeWhiteSpaces();
             Marker opt = mark();
-            if (!(parseString() || parseContents(() -> !is(SEPARATOR) && !is(PH_CLOSE)))) {
-                return fail(m);
+            if (!parseString()) {
+                parseOptionContents();
             }
             consumeWhiteSpaces();
             opt.done(CHOICE_OPTION);
-            if (!consumeTokens(SEPARATOR)) {
+            if (limitReached() || !consumeTokens(SEPARATOR)) {
                 again = false;
             }
             consumeWhiteSpaces();
@@ -115,8 +172,15 @@ public class NanoMessageParser extends SimpleStringParser<Token, TokenValue, Str
     }
 
     private boolean parseSelfClosingTag() {
+        if (!occursLater(TAG_END) || !occursLater(TAG_CLOSE)) {
+            return false;
+        }
+        return memoize(SELF_CLOSING_TAG_RULE, this::parseSelfClosingTagAt);
+    }
+
+    private boolean parseSelfClosingTagAt() {
         Marker m = mark();
-        if (!(consumeTokens(TAG_OPEN) && parseKey() && parseAttributes(SELF_CLOSING_ATTR_DELIMITER))) {
+        if (!(consumeTokens(TAG_OPEN) && parseKey() && parseAttributes(AttributeDelimiter.SELF_CLOSING))) {
             return fail(m);
         }
         if (!consumeTokens(TAG_END, TAG_CLOSE)) {
@@ -127,6 +191,15 @@ public class NanoMessageParser extends SimpleStringParser<Token, TokenValue, Str
     }
 
     private boolean parseContentTag() {
+        if (!occursLater(TAG_CLOSE) || !enterNested()) {
+            return false;
+        }
+        boolean result = memoize(CONTENT_TAG_RULE, this::parseContentTagAt);
+        exitNested();
+        return result;
+    }
+
+    private boolean parseContentTagAt() {
         Marker m = mark();
 
         String open = parseOpenTag();
@@ -150,7 +223,7 @@ public class NanoMessageParser extends SimpleStringParser<Token, TokenValue, Str
             return null;
         }
         String startTag = getTokenText();
-        if (!(parseKey() && parseAttributes(TAG_ATTR_DELIMITER) && consumeTokens(TAG_CLOSE))) {
+        if (!(parseKey() && parseAttributes(AttributeDelimiter.TAG) && consumeTokens(TAG_CLOSE))) {
             m.rollback();
             return null;
         }
@@ -160,8 +233,10 @@ public class NanoMessageParser extends SimpleStringParser<Token, TokenValue, Str
 
     private boolean parsePreContent(String open) {
         Marker m = mark();
-        while (!isCloseTag(open) && getTokenType() != null) {
-            advance();
+        while (getTokenType() != null && !isCloseTag(open)) {
+            // a close tag can only start at a tag open token
+            int next = indexOf(TAG_OPEN, getCurrentIndex() + 1);
+            advanceTo(next < 0 ? getTokenCount() : next);
         }
         m.done(TEXT_ELEMENT);
         return true;
@@ -201,7 +276,11 @@ public class NanoMessageParser extends SimpleStringParser<Token, TokenValue, Str
         return true;
     }
 
-    private boolean parseAttributes(Iterable<Token> delimiter) {
+    private boolean parseAttributes(AttributeDelimiter delimiter) {
+        return memoize(ATTRIBUTES_RULE + delimiter.ordinal(), () -> parseAttributesAt(delimiter));
+    }
+
+    private boolean parseAttributesAt(AttributeDelimiter delimiter) {
         Marker m = mark();
         while (true) {
             consumeWhiteSpaces();
@@ -216,7 +295,7 @@ public class NanoMessageParser extends SimpleStringParser<Token, TokenValue, Str
         }
     }
 
-    private boolean parseAttribute(Iterable<Token> delimiter) {
+    private boolean parseAttribute(AttributeDelimiter delimiter) {
         Marker m = mark();
 
         if (parseString()) {
@@ -226,21 +305,24 @@ public class NanoMessageParser extends SimpleStringParser<Token, TokenValue, Str
         m.rollback();
         m = mark();
 
-        int count = 0;
-        int lastNonWhiteSpace = 0;
-        while (!lookAheadIs(count, delimiter) && !lookAheadIs(count, SEPARATOR)) {
-            var lookAhead = lookAhead(count);
-            if (lookAhead == null) {
-                return fail(m);
+        // unquoted attributes reach until the next delimiter, without trailing white spaces
+        int start = getCurrentIndex();
+        int end = indexOf(SEPARATOR, start);
+        for (Token token : delimiter.tokens) {
+            int index = indexOf(token, start);
+            if (index >= 0 && (end < 0 || index < end)) {
+                end = index;
             }
-            if (lookAhead != WS) {
-                lastNonWhiteSpace = count;
-            }
-            count++;
         }
-        for (int i = 0; i <= lastNonWhiteSpace; i++) {
-            advance();
+        if (end < 0) {
+            return fail(m);
+        }
+        int lastNonWhiteSpace = end - 1;
+        while (lastNonWhiteSpace > start && lookAheadIs(lastNonWhiteSpace - start, WS)) {
+            lastNonWhiteSpace--;
         }
+        // consumes at least one token, even if it is the delimiter
+        advanceTo(Integer.max(lastNonWhiteSpace, start) + 1);
         m.done(ATTRIBUTE);
         return true;
     }
@@ -255,35 +337,31 @@ public class NanoMessageParser extends SimpleStringParser<Token, TokenValue, Str
     }
 
     private boolean parseString() {
-        Marker m = mark();
-        boolean r = false;
-        if (consumeTokens(SQUOTE)) {
-            while (!(is(SQUOTE))) {
-                advance();
-                if (getTokenType() == null) {
-                    m.rollback();
-                    return false;
-                }
-            }
-            r = consumeTokens(SQUOTE);
-        } else if (consumeTokens(DQUOTE)) {
-            while (!(is(DQUOTE))) {
-                advance();
-                if (getTokenType() == null) {
-                    m.rollback();
-                    return false;
-                }
-            }
-            r = consumeTokens(DQUOTE);
+        Token quote;
+        if (is(SQUOTE)) {
+            quote = SQUOTE;
+        } else if (is(DQUOTE)) {
+            quote = DQUOTE;
+        } else {
+            return false;
         }
-        if (!r) {
-            m.rollback();
+        int close = indexOf(quote, getCurrentIndex() + 1);
+        if (close < 0) {
             return false;
         }
+        Marker m = mark();
+        advanceTo(close + 1);
         m.done(TEXT_ELEMENT);
         return true;
     }
 
+    /**
+     * @return true, if a token of the given type occurs at or after the current position.
+     */
+    private boolean occursLater(Token type) {
+        return indexOf(type, getCurrentIndex()) >= 0;
+    }
+
     private void consumeWhiteSpaces() {
         while (consumeTokens(WS)) {
         }
@@ -317,15 +395,6 @@ public class NanoMessageParser extends SimpleStringParser<Token, TokenValue, Str
         return Objects.equals(lookAhead(steps), type);
     }
 
-    private boolean lookAheadIs(int steps, Iterable<Token> types) {
-        for (Token type : types) {
-            if (lookAheadIs(steps, type)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private boolean is(Token type) {
         return Objects.equals(getTokenType(), type);
     }
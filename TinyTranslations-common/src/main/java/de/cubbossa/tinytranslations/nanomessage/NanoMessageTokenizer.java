@@ -27,47 +27,124 @@ public class NanoMessageTokenizer {
 
     public static final List<Token> TOKENS = List.of(ESC, PH_OPEN, PH_CLOSE, TAG_OPEN, TAG_CLOSE, TAG_END, CHOICE, SEPARATOR, WS, SQUOTE, DQUOTE, LIT, MISC);
     private final List<Token> tokens = new ArrayList<>();
-    private State state = State.ANY;
+    private final boolean defaultTokens;
+
     public NanoMessageTokenizer() {
         this.tokens.addAll(TOKENS);
+        this.defaultTokens = true;
     }
 
     public NanoMessageTokenizer(List<Token> tokens) {
         this.tokens.addAll(tokens);
+        this.defaultTokens = TOKENS.equals(tokens);
     }
 
+    /**
+     * Splits a NanoMessage string into tokens. Each token references a region of the input string instead of
+     * holding a copy of it.
+     *
+     * @param s The NanoMessage string to tokenize.
+     * @return A list of all tokens in order of occurrence.
+     */
     public List<TokenValue> tokenize(@Language("NanoMessage") String s) {
+        return defaultTokens ? scan(s) : match(s);
+    }
+
+    /**
+     * Single pass scanner for the default token set. Produces the same tokens as matching {@link #TOKENS} in order,
+     * except that line terminators other than '\n' become {@link #MISC} tokens instead of stalling the tokenizer.
+     */
+    private List<TokenValue> scan(String s) {
+        int length = s.length();
+        List<TokenValue> values = new ArrayList<>(Integer.max(16, length / 2));
+        int offset = 0;
+        while (offset < length) {
+            char c = s.charAt(offset);
+            int end = offset + 1;
+            Token type = switch (c) {
+                case '\\' -> ESC;
+                case '{' -> PH_OPEN;
+                case '}' -> PH_CLOSE;
+                case '<' -> TAG_OPEN;
+                case '>' -> TAG_CLOSE;
+                case '/' -> TAG_END;
+                case '?' -> CHOICE;
+                case ':' -> SEPARATOR;
+                case '\'' -> SQUOTE;
+                case '"' -> DQUOTE;
+                case ' ', '\t' -> WS;
+                default -> isLiteral(c) ? LIT : MISC;
+            };
+            if (type == WS) {
+                while (end < length && isWhiteSpace(s.charAt(end))) {
+                    end++;
+                }
+            } else if (type == LIT) {
+                while (end < length && isLiteral(s.charAt(end))) {
+                    end++;
+                }
+            } else if (type == MISC && Character.isHighSurrogate(c)
+                    && end < length && Character.isLowSurrogate(s.charAt(end))) {
+                end++;
+            }
+            values.add(new TokenValue(type, s, offset, end));
+            offset = end;
+
+            // escaped characters are always miscellaneous, whatever they would be otherwise
+            if (type == ESC && offset < length) {
+                values.add(new TokenValue(MISC, s, offset, offset + 1));
+                offset++;
+            }
+        }
+        return values;
+    }
+
+    private static boolean isWhiteSpace(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    private static boolean isLiteral(char c) {
+        return (c >= 'a' && c <= 'z')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9')
+                || c == '#' || c == '.' || c == '_' || c == ',' || c == '-';
+    }
+
+    /**
+     * Generic tokenization for custom token lists. Tries every token at every offset.
+     */
+    private List<TokenValue> match(String s) {
         List<TokenValue> values = new ArrayList<>();
+        State state = State.ANY;
         int offset = 0;
         while (offset < s.length()) {
             if (state == State.ANY) {
+                int start = offset;
                 for (Token token : tokens) {
-
-                    String content;
                     if (token.pattern == null) {
                         if (!s.startsWith(token.text, offset)) {
                             continue;
                         }
                         offset += token.text.length();
-                        content = token.text;
                     } else {
-                        Matcher m = token.pattern.matcher(s.substring(offset));
-                        if (!m.find()) {
+                        Matcher m = token.pattern.matcher(s).region(offset, s.length());
+                        if (!m.lookingAt() || m.end() == offset) {
                             continue;
                         }
-                        offset += m.end();
-                        content = m.group();
+                        offset = m.end();
                     }
-                    values.add(new TokenValue(token, content));
+                    values.add(new TokenValue(token, s, start, offset));
 
                     if (token.equals(ESC)) {
                         state = State.ESC;
                     }
                     break;
                 }
+                if (start == offset) {
+                    throw new IllegalArgumentException("No token matches input at index " + offset + ": '" + s + "'.");
+                }
             } else if (state == State.ESC) {
-                String l = s.substring(offset, offset + 1);
-                values.add(new TokenValue(MISC, l));
+                values.add(new TokenValue(MISC, s, offset, offset + 1));
                 state = State.ANY;
                 offset++;
             }
@@ -116,10 +193,52 @@ public class NanoMessageTokenizer {
         }
     }
 
-    public record TokenValue(Token type, String text) {
+    /**
+     * A token of a certain type, covering the characters from start (inclusive) to end (exclusive) of its source.
+     * Two token values are equal if they are of the same type and cover the same text.
+     */
+    public record TokenValue(Token type, String source, int start, int end) {
+
+        public TokenValue(Token type, String text) {
+            this(type, text, 0, text.length());
+        }
+
+        public String text() {
+            return start == 0 && end == source.length() ? source : source.substring(start, end);
+        }
+
+        public int length() {
+            return end - start;
+        }
+
+        public boolean textEquals(String text) {
+            return text.length() == length() && source.regionMatches(start, text, 0, length());
+        }
+
+        public void appendTo(StringBuilder builder) {
+            builder.append(source, start, end);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) return true;
+            if (!(object instanceof TokenValue other)) return false;
+            return Objects.equals(type, other.type) && length() == other.length()
+                    && source.regionMatches(start, other.source, other.start, length());
+        }
+
+        @Override
+        public int hashCode() {
+            int h = Objects.hashCode(type);
+            for (int i = start; i < end; i++) {
+                h = 31 * h + source.charAt(i);
+            }
+            return h;
+        }
+
         @Override
         public String toString() {
-            return text;
+            return text();
         }
     }
 }
@@ -0,0 +1,91 @@
+package de.cubbossa.tinytranslations.nanomessage;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A NanoMessage string that has been parsed once and can be rendered repeatedly with different resolvers.
+ * Obtain instances via {@link NanoMessage#compile(String)}.
+ */
+public interface NanoTemplate {
+
+    /**
+     * @return The NanoMessage string that this template was compiled from.
+     */
+    String source();
+
+    /**
+     * Holes are all parts of the template that have to be resolved at render time, in order of occurrence.
+     * Holes within choice options are included, holes within arguments of other tags are not.
+     *
+     * @return An immutable list of all holes of this template.
+     */
+    List<Hole> holes();
+
+    /**
+     * Renders the template. The result equals the result of {@link NanoMessage#deserialize(String, TagResolver...)}
+     * for the source string.
+     *
+     * @param resolvers The resolvers to fill the holes with.
+     * @return The rendered component.
+     */
+    Component render(TagResolver... resolvers);
+
+    /**
+     * @return true, if {@link #partial(TagResolver, Predicate)} might evaluate any tag in advance. Templates that never
+     * do can skip collecting the information about which tags are volatile.
+     */
+    default boolean isPartiallyEvaluable() {
+        return false;
+    }
+
+    /**
+     * Partially evaluates this template. Tags that are resolved by the given resolver are rendered once, together with
+     * their content, as long as the content does not contain other tags. Rendering the returned residual template
+     * only resolves the remaining tags.
+     * <p>
+     * The residual template renders like this template, as long as the resolvers that it is rendered with resolve all
+     * {@link #folded() folded} tags like the given resolver does.
+     *
+     * @param resolver     The resolver for all tags that are known before rendering.
+     * @param volatileTags Tests if a tag has to be resolved on every render, even if the given resolver resolves it.
+     * @return The residual template or this template, if no tag could be evaluated in advance.
+     */
+    default NanoTemplate partial(TagResolver resolver, Predicate<String> volatileTags) {
+        return this;
+    }
+
+    /**
+     * @return The names of all tags that have been rendered in advance by {@link #partial(TagResolver, Predicate)}.
+     */
+    default Set<String> folded() {
+        return Collections.emptySet();
+    }
+
+    enum HoleType {
+        /**
+         * A placeholder like {name}.
+         */
+        PLACEHOLDER,
+        /**
+         * A choice placeholder like {name ? a : b}, its name is the name of the placeholder to choose by.
+         */
+        CHOICE,
+        /**
+         * A dot notated object path like {player.name}, its name is the full path.
+         */
+        OBJECT_PATH,
+        /**
+         * Any other tag like &lt;red&gt; or &lt;msg:key/&gt;.
+         */
+        TAG
+    }
+
+    record Hole(HoleType type, String name) {
+    }
+}
@@ -0,0 +1,772 @@
+package de.cubbossa.tinytranslations.nanomessage;
+
+import de.cubbossa.tinytranslations.nanomessage.compiler.NanoMessageCompiler;
+import de.cubbossa.tinytranslations.nanomessage.tag.ObjectNotationTag;
+import de.cubbossa.tinytranslations.util.LruCache;
+import de.cubbossa.tinytranslations.util.compiler.SimpleStringParser;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.ParsingException;
+import net.kyori.adventure.text.minimessage.tag.Inserting;
+import net.kyori.adventure.text.minimessage.tag.Modifying;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.minimessage.tree.Node;
+import org.intellij.lang.annotations.Language;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static de.cubbossa.tinytranslations.nanomessage.NanoMessageParser.*;
+import static de.cubbossa.tinytranslations.nanomessage.NanoMessageTokenizer.Token;
+import static de.cubbossa.tinytranslations.nanomessage.NanoMessageTokenizer.TokenValue;
+
+/**
+ * NanoMessage implementation that lowers the parsed NanoMessage tree into a cached element tree and resolves its tags
+ * directly, instead of compiling a MiniMessage string that MiniMessage then parses again.
+ * <p>
+ * Elements are built with the semantics that MiniMessage would apply to the compiled string: placeholders are open
+ * tags that wrap all following siblings if the resolved tag allows children, content tags wrap their content and
+ * modifying tags are applied to the rendered children. Messages that use constructs whose MiniMessage semantics can't
+ * be reproduced safely (escapes, pre-processing tags, tag syntax within text, ...) are rendered by the MiniMessage
+ * based implementation instead, so both implementations always produce the same result.
+ */
+class NativeNanoMessage implements NanoMessage {
+
+    private static final String ENTRY = "tinytranslations_native";
+    private static final NanoMessageCompiler COMPILER = new NanoMessageCompiler();
+    private static final TagResolver STANDARD = IndexedTagResolver.resolver(TagResolver.standard());
+    private static final ClassValue<Boolean> VISITING = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(@NotNull Class<?> type) {
+            try {
+                return type.getMethod("visit", Node.class, int.class).getDeclaringClass() != Modifying.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
+
+    private final NanoMessageImpl fallback;
+    private final LruCache<String, Template> templates = new LruCache<>(2048);
+    final LongAdder nativeRenders = new LongAdder();
+    final LongAdder fallbackRenders = new LongAdder();
+
+    NativeNanoMessage(NanoMessageImpl fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Component deserialize(@Language("NanoMessage") String value, TagResolver... resolvers) {
+        return render(templates.computeIfAbsent(value, NativeNanoMessage::lower), resolvers);
+    }
+
+    @Override
+    public NanoTemplate compile(@Language("NanoMessage") String value) {
+        return new CompiledTemplate(templates.computeIfAbsent(value, NativeNanoMessage::lower));
+    }
+
+    private Component render(Template template, TagResolver... resolvers) {
+        if (template.elements() == null) {
+            fallbackRenders.increment();
+            return fallback.deserialize(template.source(), resolvers);
+        }
+        TagResolver resolver = fallback.combine(resolvers);
+        // the same precedence that MiniMessage applies to its own tags and the provided resolver
+        TagResolver tags = IndexedTagResolver.resolver(resolver, STANDARD);
+
+        Render render = new Render(tags);
+        // Let MiniMessage create the context for us, so that nested deserializations of tags behave exactly like before.
+        Component result = NanoMessageImpl.MINI_MESSAGE.deserialize("<" + ENTRY + "/>", TagResolver.resolver(
+                TagResolver.resolver(ENTRY, (queue, ctx) -> Tag.selfClosingInserting(render.run(template.elements(), ctx))),
+                resolver
+        ));
+        if (render.failed) {
+            // the resolvers of this render returned tags that can't be applied natively, other renders might not
+            fallbackRenders.increment();
+            TagResolver[] withResolved = Arrays.copyOf(resolvers, resolvers.length + 1);
+            withResolved[resolvers.length] = render.resolved();
+            return fallback.deserialize(template.source(), withResolved);
+        }
+        nativeRenders.increment();
+        return result;
+    }
+
+    private Template partial(Template template, TagResolver resolvers, Predicate<String> volatileTags) {
+        if (template.elements() == null) {
+            return template;
+        }
+        TagResolver resolver = fallback.combine(resolvers);
+        Fold fold = new Fold(IndexedTagResolver.resolver(resolver, STANDARD), volatileTags);
+        NanoMessageImpl.MINI_MESSAGE.deserialize("<" + ENTRY + "/>", TagResolver.resolver(
+                TagResolver.resolver(ENTRY, (queue, ctx) -> {
+                    fold.evaluate(template.elements(), ctx);
+                    return Tag.selfClosingInserting(Component.empty());
+                }),
+                resolver
+        ));
+        if (fold.result == null || fold.folded.isEmpty()) {
+            return template;
+        }
+        Set<String> folded = new HashSet<>(template.folded());
+        folded.addAll(fold.folded);
+        return new Template(template.source(), template.holes(), fold.result, Collections.unmodifiableSet(folded));
+    }
+
+    private final class CompiledTemplate implements NanoTemplate {
+
+        private final Template template;
+
+        private CompiledTemplate(Template template) {
+            this.template = template;
+        }
+
+        @Override
+        public String source() {
+            return template.source();
+        }
+
+        @Override
+        public List<Hole> holes() {
+            return template.holes();
+        }
+
+        @Override
+        public Component render(TagResolver... resolvers) {
+            return NativeNanoMessage.this.render(template, resolvers);
+        }
+
+        @Override
+        public boolean isPartiallyEvaluable() {
+            return template.elements() != null;
+        }
+
+        @Override
+        public NanoTemplate partial(TagResolver resolver, Predicate<String> volatileTags) {
+            Template residual = NativeNanoMessage.this.partial(template, resolver, volatileTags);
+            return residual == template ? this : new CompiledTemplate(residual);
+        }
+
+        @Override
+        public Set<String> folded() {
+            return template.folded();
+        }
+    }
+
+    @Override
+    public @NotNull Component deserialize(@NotNull @Language("NanoMessage") String input) {
+        return deserialize(input, new TagResolver[0]);
+    }
+
+    @Override
+    public @NotNull String serialize(@NotNull Component component) {
+        return fallback.serialize(component);
+    }
+
+    public void clearCache() {
+        templates.clear();
+    }
+
+    // Lowering
+
+    private static final class Template {
+
+        private final String source;
+        private final List<NanoTemplate.Hole> holes;
+        /**
+         * The lowered elements or null, if the source can't be lowered and must be rendered by MiniMessage.
+         */
+        private final @Nullable List<Element> elements;
+        /**
+         * The names of all tags that have been rendered in advance into the elements.
+         */
+        private final Set<String> folded;
+
+        Template(String source, List<NanoTemplate.Hole> holes, @Nullable List<Element> elements) {
+            this(source, holes, elements, Collections.emptySet());
+        }
+
+        Template(String source, List<NanoTemplate.Hole> holes, @Nullable List<Element> elements, Set<String> folded) {
+            this.source = source;
+            this.holes = holes;
+            this.elements = elements;
+            this.folded = folded;
+        }
+
+        String source() {
+            return source;
+        }
+
+        List<NanoTemplate.Hole> holes() {
+            return holes;
+        }
+
+        @Nullable List<Element> elements() {
+            return elements;
+        }
+
+        Set<String> folded() {
+            return folded;
+        }
+    }
+
+    private sealed interface Element permits Text, TagElement, Folded {
+    }
+
+    private record Text(String text) implements Element {
+    }
+
+    /**
+     * Elements that have been rendered in advance by partial evaluation.
+     */
+    private record Folded(List<Component> components) implements Element {
+    }
+
+    private enum TagKind {
+        /**
+         * Written as open tag without closing tag, like placeholders. Following siblings become children if allowed.
+         */
+        OPEN,
+        SELF_CLOSING,
+        /**
+         * Tag with explicit content, the content is only wrapped if the tag allows children.
+         */
+        CONTENT,
+        /**
+         * Tag with explicit content and a closing tag.
+         */
+        CLOSED_CONTENT
+    }
+
+    private record TagElement(String name, List<String> arguments, TagKind kind, List<Element> children) implements Element {
+    }
+
+    private static final class NotLowerableException extends RuntimeException {
+        private static final NotLowerableException INSTANCE = new NotLowerableException();
+
+        private NotLowerableException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static Template lower(String value) {
+        var tokens = new NanoMessageTokenizer().tokenize(value);
+        var root = new NanoMessageParser(tokens).parse();
+        // before lowering, choice options are compiled in place
+        List<NanoTemplate.Hole> holes = TemplateHoles.collect(root);
+        try {
+            List<Element> elements = new ArrayList<>();
+            for (var node : root.getChildren()) {
+                lowerContents(node, elements);
+            }
+            return new Template(value, holes, List.copyOf(elements));
+        } catch (NotLowerableException e) {
+            return new Template(value, holes, null);
+        }
+    }
+
+    private static void lowerContents(SimpleStringParser<Token, TokenValue, String>.Node contents, List<Element> into) {
+        StringBuilder text = new StringBuilder();
+        for (var child : contents.getChildren()) {
+            String type = Objects.requireNonNull(child.getType());
+            if (type.equals(TEXT_ELEMENT)) {
+                text.append(child);
+                continue;
+            }
+            if (!text.isEmpty()) {
+                into.add(text(text.toString()));
+                text.setLength(0);
+            }
+            switch (type) {
+                case PLACEHOLDER -> into.add(lowerTag(child.getChildren().get(0), child.getChildren().get(1),
+                        TagKind.OPEN, Collections.emptyList(), true));
+                case SELF_CLOSING_TAG -> into.add(lowerTag(child.getChildren().get(0), child.getChildren().get(1),
+                        TagKind.SELF_CLOSING, Collections.emptyList(), false));
+                case CHOICE_PLACEHOLDER -> into.add(lowerChoice(child));
+                case CONTENT_TAG -> into.add(lowerContentTag(child));
+                case CONTENTS -> lowerContents(child, into);
+                default -> throw NotLowerableException.INSTANCE;
+            }
+        }
+        if (!text.isEmpty()) {
+            into.add(text(text.toString()));
+        }
+    }
+
+    private static Text text(String text) {
+        // MiniMessage would interpret escapes and everything that looks like a tag
+        if (text.indexOf('<') >= 0 || text.indexOf('\\') >= 0) {
+            throw NotLowerableException.INSTANCE;
+        }
+        return new Text(text);
+    }
+
+    private static TagElement lowerTag(SimpleStringParser<Token, TokenValue, String>.Node key,
+                                       SimpleStringParser<Token, TokenValue, String>.Node attributes,
+                                       TagKind kind, List<Element> children, boolean objectNotation) {
+        String name = key.toString().trim();
+        List<String> arguments = new ArrayList<>();
+        if (name.contains(".")) {
+            if (!objectNotation) {
+                throw NotLowerableException.INSTANCE;
+            }
+            arguments.add(name);
+            name = ObjectNotationTag.KEY;
+        }
+        checkTagName(name);
+        for (var attribute : attributes.getChildren()) {
+            arguments.add(argument(attribute.toString()));
+        }
+        return new TagElement(name, List.copyOf(arguments), kind, children);
+    }
+
+    private static TagElement lowerContentTag(SimpleStringParser<Token, TokenValue, String>.Node node) {
+        var children = node.getChildren();
+        var open = children.get(0);
+        String key = open.getChildren().get(0).toString();
+        boolean hasContent = children.size() > 1 && !Objects.equals(children.get(1).getType(), CLOSE_TAG);
+        boolean closed = Objects.equals(children.get(children.size() - 1).getType(), CLOSE_TAG);
+
+        if (PRE.stream().anyMatch(key::equalsIgnoreCase)) {
+            if (!hasContent) {
+                throw NotLowerableException.INSTANCE;
+            }
+            // compiles to a self-closing tag with the content as last argument
+            TagElement tag = lowerTag(open.getChildren().get(0), open.getChildren().get(1), TagKind.SELF_CLOSING,
+                    Collections.emptyList(), false);
+            List<String> arguments = new ArrayList<>(tag.arguments());
+            arguments.add(quoted(children.get(1).toString()));
+            return new TagElement(tag.name(), List.copyOf(arguments), TagKind.SELF_CLOSING, Collections.emptyList());
+        }
+        if (key.contains(".")) {
+            // the closing tag would not match the compiled object notation tag
+            throw NotLowerableException.INSTANCE;
+        }
+        List<Element> content = new ArrayList<>();
+        if (hasContent) {
+            lowerContents(children.get(1), content);
+        }
+        return lowerTag(open.getChildren().get(0), open.getChildren().get(1),
+                closed ? TagKind.CLOSED_CONTENT : TagKind.CONTENT, List.copyOf(content), false);
+    }
+
+    private static TagElement lowerChoice(SimpleStringParser<Token, TokenValue, String>.Node node) {
+        var children = node.getChildren();
+        String key = children.get(0).toString().trim();
+        if (key.contains(".")) {
+            key = ObjectNotationTag.KEY + ":'" + key + "'";
+        }
+        String placeholder = "<" + key + children.get(1).toString().trim() + ">";
+        List<String> arguments = new ArrayList<>();
+        arguments.add(quoted(placeholder));
+        for (var option : children.subList(2, children.size())) {
+            String compiled = COMPILER.compile(option).trim();
+            if (compiled.length() >= 2 && compiled.startsWith("'") && compiled.endsWith("'")) {
+                compiled = compiled.substring(1, compiled.length() - 1);
+            }
+            arguments.add(quoted(compiled));
+        }
+        return new TagElement("choice", List.copyOf(arguments), TagKind.OPEN, Collections.emptyList());
+    }
+
+    private static void checkTagName(String name) {
+        if (name.isEmpty()) {
+            throw NotLowerableException.INSTANCE;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '-'
+                    || (i == 0 && c == '#');
+            if (!valid) {
+                throw NotLowerableException.INSTANCE;
+            }
+        }
+    }
+
+    /**
+     * @param value The content of a quoted argument without its quotes.
+     * @return The argument value if MiniMessage would read the quoted argument literally.
+     */
+    private static String quoted(String value) {
+        if (value.indexOf('\'') >= 0 || value.indexOf('\\') >= 0) {
+            throw NotLowerableException.INSTANCE;
+        }
+        return value;
+    }
+
+    /**
+     * @param attribute The attribute as written in NanoMessage, either a quoted string or a plain value.
+     * @return The argument value that MiniMessage would read from the compiled attribute.
+     */
+    private static String argument(String attribute) {
+        if (attribute.length() >= 2) {
+            char quote = attribute.charAt(0);
+            if ((quote == '\'' || quote == '"') && attribute.charAt(attribute.length() - 1) == quote) {
+                String value = attribute.substring(1, attribute.length() - 1);
+                if (value.indexOf(quote) >= 0 || value.indexOf('\\') >= 0) {
+                    throw NotLowerableException.INSTANCE;
+                }
+                return value;
+            }
+        }
+        for (int i = 0; i < attribute.length(); i++) {
+            switch (attribute.charAt(i)) {
+                case '<', '>', '\'', '"', '\\', '/' -> throw NotLowerableException.INSTANCE;
+                default -> {
+                }
+            }
+        }
+        return attribute;
+    }
+
+    // Rendering
+
+    private static class Render {
+
+        final TagResolver resolver;
+        boolean failed = false;
+        Context context;
+        // inserting tags that have been resolved so far, by tag name and arguments
+        private final Map<List<String>, Tag> inserted = new HashMap<>();
+
+        private Render(TagResolver resolver) {
+            this.resolver = resolver;
+        }
+
+        Component run(List<Element> elements, Context context) {
+            this.context = context;
+            try {
+                return Component.empty().children(render(elements));
+            } catch (NotLowerableException | ParsingException e) {
+                failed = true;
+                return Component.empty();
+            }
+        }
+
+        List<Component> render(List<Element> elements) {
+            List<Component> result = new ArrayList<>(elements.size());
+            for (int i = 0; i < elements.size(); i++) {
+                Element element = elements.get(i);
+                if (element instanceof Text text) {
+                    result.add(Component.text(text.text()));
+                    continue;
+                }
+                if (element instanceof Folded folded) {
+                    result.addAll(folded.components());
+                    continue;
+                }
+                TagElement tagElement = (TagElement) element;
+                Tag tag = resolve(tagElement);
+                boolean allowsChildren = allowsChildren(tag);
+
+                List<Element> children = Collections.emptyList();
+                List<Element> siblings = Collections.emptyList();
+                switch (tagElement.kind()) {
+                    case OPEN -> {
+                        if (allowsChildren) {
+                            children = elements.subList(i + 1, elements.size());
+                            i = elements.size();
+                        }
+                    }
+                    case CONTENT -> {
+                        if (allowsChildren) {
+                            children = tagElement.children();
+                        } else {
+                            siblings = tagElement.children();
+                        }
+                    }
+                    case CLOSED_CONTENT -> {
+                        if (!allowsChildren) {
+                            throw NotLowerableException.INSTANCE;
+                        }
+                        children = tagElement.children();
+                    }
+                    default -> {
+                    }
+                }
+                result.add(apply(tag, render(children)));
+                result.addAll(render(siblings));
+            }
+            return result;
+        }
+
+        Tag resolve(TagElement element) {
+            Tag tag = resolver.resolve(element.name(), new Arguments(context, element.arguments()), context);
+            if (tag instanceof Inserting && !(tag instanceof Modifying)) {
+                List<String> key = new ArrayList<>(element.arguments().size() + 1);
+                key.add(element.name());
+                key.addAll(element.arguments());
+                inserted.put(key, tag);
+            }
+            return tag;
+        }
+
+        /**
+         * @return A resolver for the inserting tags that have been resolved before the render failed, so that the
+         * MiniMessage render does not ask the resolvers for them again. Modifying tags are stateful and not reused.
+         */
+        TagResolver resolved() {
+            if (inserted.isEmpty()) {
+                return TagResolver.empty();
+            }
+            Set<String> names = inserted.keySet().stream().map(key -> key.get(0)).collect(Collectors.toSet());
+            return new TagResolver() {
+                @Override
+                public @Nullable Tag resolve(@NotNull String name, @NotNull ArgumentQueue arguments, @NotNull Context ctx) {
+                    List<String> key = new ArrayList<>();
+                    key.add(name);
+                    while (arguments.hasNext()) {
+                        key.add(arguments.pop().value());
+                    }
+                    Tag tag = inserted.get(key);
+                    if (tag == null) {
+                        // let the actual resolvers consume the arguments
+                        arguments.reset();
+                    }
+                    return tag;
+                }
+
+                @Override
+                public boolean has(@NotNull String name) {
+                    return names.contains(name);
+                }
+            };
+        }
+
+        static boolean allowsChildren(@Nullable Tag tag) {
+            return tag instanceof Modifying || (tag instanceof Inserting inserting && inserting.allowsChildren());
+        }
+
+        private Component apply(@Nullable Tag tag, List<Component> children) {
+            Component component;
+            if (tag instanceof Inserting inserting) {
+                component = inserting.value();
+            } else if (tag instanceof Modifying) {
+                component = Component.empty();
+            } else {
+                // unresolved, pre-processing or parser directive tags
+                throw NotLowerableException.INSTANCE;
+            }
+            if (!children.isEmpty()) {
+                List<Component> all = new ArrayList<>(component.children());
+                all.addAll(children);
+                component = component.children(all);
+            }
+            if (tag instanceof Modifying modifying) {
+                if (VISITING.get(modifying.getClass())) {
+                    // the tag wants to visit MiniMessage nodes that we don't have
+                    throw NotLowerableException.INSTANCE;
+                }
+                modifying.postVisit();
+                component = modify(modifying, component, 0);
+            }
+            return component;
+        }
+
+        private Component modify(Modifying modifying, Component current, int depth) {
+            Component result = modifying.apply(current, depth);
+            for (Component child : current.children()) {
+                result = result.append(modify(modifying, child, depth + 1));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Renders all elements whose tags are known before rendering and replaces them with their rendered components.
+     * A tag is only rendered in advance if its whole content can be rendered in advance as well, which for open tags
+     * that allow children includes all following siblings.
+     */
+    private static final class Fold extends Render {
+
+        private final Predicate<String> volatileTags;
+        private final Map<List<Element>, Foldability> foldability = new IdentityHashMap<>();
+        private final Set<String> folded = new HashSet<>();
+        private @Nullable List<Element> result;
+
+        private Fold(TagResolver resolver, Predicate<String> volatileTags) {
+            super(resolver);
+            this.volatileTags = volatileTags;
+        }
+
+        void evaluate(List<Element> elements, Context context) {
+            this.context = context;
+            try {
+                result = List.copyOf(fold(elements));
+            } catch (NotLowerableException | ParsingException e) {
+                result = null;
+            }
+        }
+
+        private List<Element> fold(List<Element> elements) {
+            Foldability foldability = foldability(elements);
+            List<Element> result = new ArrayList<>(elements.size());
+            List<Component> components = new ArrayList<>();
+            for (int i = 0; i < elements.size(); i++) {
+                Element element = elements.get(i);
+                if (foldability.foldable()[i]) {
+                    // open tags that allow children are only foldable if all following siblings are
+                    int end = foldability.wrapsSiblings()[i] ? elements.size() : i + 1;
+                    List<Element> rendered = elements.subList(i, end);
+                    components.addAll(render(rendered));
+                    names(rendered);
+                    i = end - 1;
+                    continue;
+                }
+                if (!components.isEmpty()) {
+                    result.add(new Folded(List.copyOf(components)));
+                    components.clear();
+                }
+                TagElement tag = (TagElement) element;
+                result.add(tag.children().isEmpty()
+                        ? tag
+                        : new TagElement(tag.name(), tag.arguments(), tag.kind(), List.copyOf(fold(tag.children()))));
+            }
+            if (!components.isEmpty()) {
+                result.add(new Folded(List.copyOf(components)));
+            }
+            return result;
+        }
+
+        private Foldability foldability(List<Element> elements) {
+            Foldability foldability = this.foldability.get(elements);
+            if (foldability != null) {
+                return foldability;
+            }
+            foldability = new Foldability(new boolean[elements.size()], new boolean[elements.size()]);
+            boolean siblings = true;
+            for (int i = elements.size() - 1; i >= 0; i--) {
+                foldability.foldable()[i] = foldable(elements.get(i), siblings, foldability.wrapsSiblings(), i);
+                siblings &= foldability.foldable()[i];
+            }
+            this.foldability.put(elements, foldability);
+            return foldability;
+        }
+
+        private boolean foldable(Element element, boolean siblings, boolean[] wrapsSiblings, int index) {
+            if (!(element instanceof TagElement tagElement)) {
+                return true;
+            }
+            if (volatileTags.test(tagElement.name())) {
+                return false;
+            }
+            for (String argument : tagElement.arguments()) {
+                // arguments might be deserialized with the resolvers of the render
+                if (argument.indexOf('<') >= 0 || argument.indexOf('{') >= 0) {
+                    return false;
+                }
+            }
+            Tag tag;
+            try {
+                tag = resolve(tagElement);
+            } catch (ParsingException e) {
+                return false;
+            }
+            if (!(tag instanceof Inserting) && !(tag instanceof Modifying)) {
+                return false;
+            }
+            if (tag instanceof Modifying modifying && VISITING.get(modifying.getClass())) {
+                return false;
+            }
+            boolean allowsChildren = allowsChildren(tag);
+            wrapsSiblings[index] = tagElement.kind() == TagKind.OPEN && allowsChildren;
+            return switch (tagElement.kind()) {
+                case OPEN -> !allowsChildren || siblings;
+                case SELF_CLOSING -> true;
+                case CONTENT -> allFoldable(tagElement.children());
+                case CLOSED_CONTENT -> allowsChildren && allFoldable(tagElement.children());
+            };
+        }
+
+        private boolean allFoldable(List<Element> elements) {
+            for (boolean foldable : foldability(elements).foldable()) {
+                if (!foldable) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void names(List<Element> elements) {
+            for (Element element : elements) {
+                if (element instanceof TagElement tagElement) {
+                    folded.add(tagElement.name());
+                    names(tagElement.children());
+                }
+            }
+        }
+
+        /**
+         * @param foldable      For each element, whether it can be rendered in advance.
+         * @param wrapsSiblings For each element, whether it is an open tag that takes its following siblings as children.
+         */
+        private record Foldability(boolean[] foldable, boolean[] wrapsSiblings) {
+        }
+    }
+
+    private record Argument(String value) implements Tag.Argument {
+        @Override
+        public @NotNull String value() {
+            return value;
+        }
+    }
+
+    private static final class Arguments implements ArgumentQueue {
+
+        private final Context context;
+        private final List<String> arguments;
+        private int index = 0;
+
+        private Arguments(Context context, List<String> arguments) {
+            this.context = context;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public @NotNull Tag.Argument pop() {
+            return popOr("Missing argument for this tag!");
+        }
+
+        @Override
+        public @NotNull Tag.Argument popOr(@NotNull String errorMessage) {
+            if (!hasNext()) {
+                throw context.newException(errorMessage, this);
+            }
+            return new Argument(arguments.get(index++));
+        }
+
+        @Override
+        public @NotNull Tag.Argument popOr(@NotNull Supplier<String> errorMessage) {
+            if (!hasNext()) {
+                throw context.newException(errorMessage.get(), this);
+            }
+            return new Argument(arguments.get(index++));
+        }
+
+        @Override
+        public @Nullable Tag.Argument peek() {
+            return hasNext() ? new Argument(arguments.get(index)) : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < arguments.size();
+        }
+
+        @Override
+        public void reset() {
+            index = 0;
+        }
+
+        @Override
+        public String toString() {
+            return arguments.stream().collect(Collectors.joining(":"));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package de.cubbossa.tinytranslations.nanomessage;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+import java.util.List;
+
+/**
+ * Template of the MiniMessage based NanoMessage implementation. The source is parsed once, its holes are collected
+ * from the parsed tree before the tree is compiled into MiniMessage. Rendering passes the compiled string to
+ * MiniMessage without compiling it again.
+ */
+final class PrecompiledNanoTemplate implements NanoTemplate {
+
+    private final NanoMessageImpl nanoMessage;
+    private final String source;
+    private final String compiled;
+    private final List<Hole> holes;
+
+    PrecompiledNanoTemplate(NanoMessageImpl nanoMessage, String source, String compiled, List<Hole> holes) {
+        this.nanoMessage = nanoMessage;
+        this.source = source;
+        this.compiled = compiled;
+        this.holes = holes;
+    }
+
+    @Override
+    public String source() {
+        return source;
+    }
+
+    @Override
+    public List<Hole> holes() {
+        return holes;
+    }
+
+    @Override
+    public Component render(TagResolver... resolvers) {
+        return nanoMessage.deserializeCompiled(compiled, resolvers);
+    }
+}
@@ -0,0 +1,84 @@
+package de.cubbossa.tinytranslations.nanomessage;
+
+import de.cubbossa.tinytranslations.util.compiler.SimpleStringParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static de.cubbossa.tinytranslations.nanomessage.NanoMessageParser.*;
+import static de.cubbossa.tinytranslations.nanomessage.NanoMessageTokenizer.Token;
+import static de.cubbossa.tinytranslations.nanomessage.NanoMessageTokenizer.TokenValue;
+import static de.cubbossa.tinytranslations.nanomessage.NanoTemplate.Hole;
+import static de.cubbossa.tinytranslations.nanomessage.NanoTemplate.HoleType;
+
+/**
+ * Collects the holes of a parsed NanoMessage tree. Must be called before the tree is compiled, because compilation
+ * replaces the nodes in place.
+ */
+final class TemplateHoles {
+
+    private TemplateHoles() {
+    }
+
+    static List<Hole> collect(String value) {
+        return collect(new NanoMessageParser(new NanoMessageTokenizer().tokenize(value)).parse());
+    }
+
+    static List<Hole> collect(SimpleStringParser<Token, TokenValue, String>.Node root) {
+        List<Hole> holes = new ArrayList<>();
+        collect(root, holes);
+        return holes.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(holes);
+    }
+
+    private static void collect(SimpleStringParser<Token, TokenValue, String>.Node node, List<Hole> holes) {
+        String type = node.getType();
+        if (type != null) {
+            switch (type) {
+                case PLACEHOLDER -> {
+                    holes.add(tag(node.getChildren().get(0), HoleType.PLACEHOLDER));
+                    return;
+                }
+                case SELF_CLOSING_TAG -> {
+                    holes.add(tag(node.getChildren().get(0), HoleType.TAG));
+                    return;
+                }
+                case CHOICE_PLACEHOLDER -> {
+                    holes.add(new Hole(HoleType.CHOICE, node.getChildren().get(0).toString().trim()));
+                    // the options are parsed NanoMessage as well, skip key and attributes
+                    var children = node.getChildren();
+                    for (var option : children.subList(2, children.size())) {
+                        collect(option, holes);
+                    }
+                    return;
+                }
+                case CONTENT_TAG -> {
+                    var key = node.getChildren().get(0).getChildren().get(0);
+                    holes.add(tag(key, HoleType.TAG));
+                    if (PRE.stream().anyMatch(key.toString()::equalsIgnoreCase)) {
+                        // pre content is not parsed
+                        return;
+                    }
+                    var children = node.getChildren();
+                    for (var child : children.subList(1, children.size())) {
+                        collect(child, holes);
+                    }
+                    return;
+                }
+                case TEXT_ELEMENT, CLOSE_TAG -> {
+                    return;
+                }
+                default -> {
+                }
+            }
+        }
+        for (var child : node.getChildren()) {
+            collect(child, holes);
+        }
+    }
+
+    private static Hole tag(SimpleStringParser<Token, TokenValue, String>.Node key, HoleType type) {
+        String name = key.toString().trim();
+        return new Hole(name.contains(".") ? HoleType.OBJECT_PATH : type, name);
+    }
+}
@@ -0,0 +1,56 @@
+package de.cubbossa.tinytranslations.nanomessage.compiler;
+
+import de.cubbossa.tinytranslations.util.LruCache;
+import org.intellij.lang.annotations.Language;
+
+/**
+ * A {@link NanoMessageCompiler} that remembers the MiniMessage output for recently compiled inputs.
+ * <p>
+ * Compiling is a pure string to string transformation, but MiniMessage runs its pre processor for every
+ * deserialization, including nested ones from tags like hover or choice. Translations reuse the same few
+ * hundred strings for the whole runtime, so most compilations are served from the cache.
+ */
+public class CachingNanoMessageCompiler extends NanoMessageCompiler {
+
+    public static final int DEFAULT_CAPACITY = 2048;
+
+    private static final CachingNanoMessageCompiler SHARED = new CachingNanoMessageCompiler(DEFAULT_CAPACITY);
+
+    private final LruCache<String, String> cache;
+
+    public CachingNanoMessageCompiler(int capacity) {
+        this.cache = new LruCache<>(capacity);
+    }
+
+    /**
+     * @return The compiler instance that is shared by all NanoMessage deserializers and tags.
+     */
+    public static CachingNanoMessageCompiler shared() {
+        return SHARED;
+    }
+
+    @Override
+    public String compile(@Language("NanoMessage") String value) {
+        return cache.computeIfAbsent(value, super::compile);
+    }
+
+    public int getCapacity() {
+        return cache.getCapacity();
+    }
+
+    public void setCapacity(int capacity) {
+        cache.setCapacity(capacity);
+    }
+
+    public long hits() {
+        return cache.hits();
+    }
+
+    public long misses() {
+        return cache.misses();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+}
@@ -35,13 +35,25 @@ public class NanoMessageCompiler {
         NanoMessageTokenizer tokenizer = new NanoMessageTokenizer();
         var tokens = tokenizer.tokenize(value);
         NanoMessageParser parser = new NanoMessageParser(tokens);
-        var root = compile(parser.parse());
-        return root.getText();
+        var root = compileNode(parser.parse());
+        StringBuilder builder = new StringBuilder(value.length() + 16);
+        root.appendText(builder);
+        return builder.toString();
     }
 
-    private SimpleStringParser<Token, TokenValue, String>.Node compile(SimpleStringParser<Token, TokenValue, String>.Node node) {
+    /**
+     * Compiles a subtree of a parsed NanoMessage in place.
+     *
+     * @param node The subtree to compile. Its nodes will be replaced by their MiniMessage equivalent.
+     * @return the valid MiniMessage String of the subtree.
+     */
+    public String compile(SimpleStringParser<Token, TokenValue, String>.Node node) {
+        return compileNode(node).getText();
+    }
+
+    private SimpleStringParser<Token, TokenValue, String>.Node compileNode(SimpleStringParser<Token, TokenValue, String>.Node node) {
         for (CompilationStep compilationStep : compilationSteps) {
-            if (compilationStep.apply(node, this::compile)) {
+            if (compilationStep.apply(node, this::compileNode)) {
                 break;
             }
         }
@@ -24,6 +24,7 @@
  */
 package de.cubbossa.tinytranslations.nanomessage.tag;
 
+import de.cubbossa.tinytranslations.nanomessage.compiler.CachingNanoMessageCompiler;
 import de.cubbossa.tinytranslations.nanomessage.compiler.NanoMessageCompiler;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.ClickEvent;
@@ -39,7 +40,7 @@ import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.jetbrains.annotations.Nullable;
 
 public class ClickTag {
-    private static final NanoMessageCompiler PREPROCESSOR = new NanoMessageCompiler();
+    private static final NanoMessageCompiler PREPROCESSOR = CachingNanoMessageCompiler.shared();
     private static final PlainTextComponentSerializer PLAIN = PlainTextComponentSerializer.plainText();
     private static final String NAME = "click";
 
@@ -24,6 +24,7 @@
  */
 package de.cubbossa.tinytranslations.nanomessage.tag;
 
+import de.cubbossa.tinytranslations.nanomessage.compiler.CachingNanoMessageCompiler;
 import de.cubbossa.tinytranslations.nanomessage.compiler.NanoMessageCompiler;
 import net.kyori.adventure.key.InvalidKeyException;
 import net.kyori.adventure.key.Key;
@@ -50,7 +51,7 @@ import java.util.UUID;
  * @since 4.10.0
  */
 public final class HoverTag {
-    private static final NanoMessageCompiler PREPROCESSOR = new NanoMessageCompiler();
+    private static final NanoMessageCompiler PREPROCESSOR = CachingNanoMessageCompiler.shared();
     private static final String HOVER = "hover";
 
     public static final TagResolver RESOLVER = SerializableResolver.claimingStyle(
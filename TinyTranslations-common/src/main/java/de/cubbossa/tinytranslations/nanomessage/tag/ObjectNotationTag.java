@@ -1,5 +1,6 @@
 package de.cubbossa.tinytranslations.nanomessage.tag;
 
+import de.cubbossa.tinytranslations.nanomessage.IndexedTagResolver;
 import de.cubbossa.tinytranslations.tinyobject.InsertedObject;
 import de.cubbossa.tinytranslations.tinyobject.TinyObjectMapping;
 import de.cubbossa.tinytranslations.tinyobject.TinyObjectResolver;
@@ -24,7 +25,8 @@ public class ObjectNotationTag {
     private static TinyObjectResolver RESOLVER = new TinyObjectResolverImpl();
 
     public static TagResolver resolver(Map<String, InsertedObject> objectTable, Collection<TinyObjectMapping> mappings) {
-        return new TagResolver() {
+        // the object table may change while the resolver is in use
+        return new IndexedTagResolver.Dynamic() {
             @Override
             public @Nullable Tag resolve(@NotNull String name, @NotNull ArgumentQueue argumentQueue, @NotNull Context c) throws ParsingException {
                 if (!name.equalsIgnoreCase(KEY) && !objectTable.containsKey(name)) {
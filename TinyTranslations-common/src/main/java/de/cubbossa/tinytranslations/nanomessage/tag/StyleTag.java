@@ -1,6 +1,7 @@
 package de.cubbossa.tinytranslations.nanomessage.tag;
 
 import de.cubbossa.tinytranslations.MessageTranslator;
+import de.cubbossa.tinytranslations.nanomessage.IndexedTagResolver;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 
 import java.util.HashMap;
@@ -29,6 +30,8 @@ public class StyleTag {
             }
             return styles.get(styleKey).resolve(styleKey, q, c);
         }));
-        return TagResolver.resolver(styles.values());
+        IndexedTagResolver.Builder builder = IndexedTagResolver.builder();
+        styles.forEach(builder::resolver);
+        return builder.build();
     }
 }
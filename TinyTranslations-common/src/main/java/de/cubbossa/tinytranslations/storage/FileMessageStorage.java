@@ -68,6 +68,23 @@ public abstract class FileMessageStorage implements MessageStorage {
     }
 
 
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @param file Any file.
+     * @return The locale that the given file contains, or null if the file is not a locale file of this storage.
+     */
+    public @Nullable Locale localeOf(File file) {
+        String name = file.getName();
+        if (!directory.getAbsoluteFile().equals(file.getAbsoluteFile().getParentFile())
+                || !name.matches(filePrefix + ".+" + fileSuffix)) {
+            return null;
+        }
+        return Locale.forLanguageTag(name.substring(filePrefix.length(), name.length() - fileSuffix.length()));
+    }
+
     @Nullable
     protected File localeFileIfExists(Locale locale) {
         File file = new File(directory, filePrefix + locale.toLanguageTag() + fileSuffix);
@@ -0,0 +1,14 @@
+package de.cubbossa.tinytranslations.storage;
+
+import java.io.File;
+
+/**
+ * A {@link StyleStorage} that keeps all styles in a single file.
+ */
+public interface FileStyleStorage extends StyleStorage {
+
+    /**
+     * @return The file that contains the styles.
+     */
+    File getFile();
+}
@@ -3,7 +3,7 @@ package de.cubbossa.tinytranslations.storage.properties;
 import de.cubbossa.tinytranslations.MessageStyle;
 import de.cubbossa.tinytranslations.storage.Commented;
 import de.cubbossa.tinytranslations.storage.StorageEntry;
-import de.cubbossa.tinytranslations.storage.StyleStorage;
+import de.cubbossa.tinytranslations.storage.FileStyleStorage;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -12,7 +12,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-public class PropertiesStyleStorage implements StyleStorage {
+public class PropertiesStyleStorage implements FileStyleStorage {
 
     private final File file;
 
@@ -38,6 +38,11 @@ public class PropertiesStyleStorage implements StyleStorage {
         return file;
     }
 
+    @Override
+    public File getFile() {
+        return file;
+    }
+
     @Override
     public void writeStyles(Map<String, MessageStyle> styles) {
         List<StorageEntry> lines = readStylesFile(file());
@@ -1,7 +1,7 @@
 package de.cubbossa.tinytranslations.storage.yml;
 
 import de.cubbossa.tinytranslations.MessageStyle;
-import de.cubbossa.tinytranslations.storage.StyleStorage;
+import de.cubbossa.tinytranslations.storage.FileStyleStorage;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
@@ -16,7 +16,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-public class YamlStyleStorage implements StyleStorage {
+public class YamlStyleStorage implements FileStyleStorage {
 
     private final File file;
     private final Yaml yaml;
@@ -39,6 +39,11 @@ public class YamlStyleStorage implements StyleStorage {
         this.yaml = new Yaml(options);
     }
 
+    @Override
+    public File getFile() {
+        return file;
+    }
+
     @Override
     public void writeStyles(Map<String, MessageStyle> styles) {
         if (!file.exists()) {
@@ -0,0 +1,228 @@
+package de.cubbossa.tinytranslations.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A size bounded, thread safe cache that evicts the least recently used entries once its capacity is reached.
+ * <p>
+ * The cache is split into segments that are locked independently, so concurrent readers of different keys
+ * rarely block each other. Small caches use a single segment. The capacity applies to the whole cache: once it is
+ * exceeded, the least recently used entry of the largest segment is evicted, which makes the LRU order approximate
+ * across segments. Values are computed outside any lock, so concurrent requests for the same missing key might
+ * compute the value twice. Only cache results of pure functions.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public class LruCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+    // segments are only worth their overhead if each of them holds a few entries
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private final Segment<K, V>[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile int capacity;
+
+    @SuppressWarnings("unchecked")
+    public LruCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive, found " + capacity + ".");
+        }
+        this.capacity = capacity;
+        int segmentCount = Integer.min(MAX_SEGMENTS,
+                Integer.highestOneBit(Integer.max(1, capacity / MIN_SEGMENT_CAPACITY)));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>();
+        }
+    }
+
+    private Segment<K, V> segment(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return segments[h & (segments.length - 1)];
+    }
+
+    /**
+     * @param key The key to look up.
+     * @return The cached value or null if the key is not present.
+     */
+    public @Nullable V get(K key) {
+        V value = segment(key).get(key);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        if (segment(key).put(key, value) == null && size.incrementAndGet() > capacity) {
+            evict(key);
+        }
+    }
+
+    /**
+     * Evicts entries until the size of the cache does not exceed its capacity.
+     *
+     * @param keep The key that has just been inserted and must not be evicted, or null.
+     */
+    private void evict(@Nullable K keep) {
+        while (true) {
+            int current = size.get();
+            if (current <= capacity) {
+                return;
+            }
+            if (!size.compareAndSet(current, current - 1)) {
+                continue;
+            }
+            if (!largestSegment().evictEldest(keep)) {
+                // concurrent removals emptied the segments in between
+                size.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private Segment<K, V> largestSegment() {
+        Segment<K, V> largest = segments[0];
+        for (int i = 1; i < segments.length; i++) {
+            if (segments[i].size() > largest.size()) {
+                largest = segments[i];
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * Returns the cached value for the given key or computes, caches and returns it if absent.
+     *
+     * @param key      The key to look up.
+     * @param function The function to compute a missing value with. Must not return null.
+     * @return The cached or computed value.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        Segment<K, V> segment = segment(key);
+        V value = segment.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        value = function.apply(key);
+        put(key, value);
+        return value;
+    }
+
+    public void invalidate(K key) {
+        if (segment(key).remove(key) != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            size.addAndGet(-segment.removeAll());
+        }
+    }
+
+    public int size() {
+        return Integer.max(0, size.get());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Changes the maximum amount of cached entries. Shrinking the capacity evicts the least recently used entries
+     * immediately.
+     *
+     * @param capacity The new capacity, must be positive.
+     */
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive, found " + capacity + ".");
+        }
+        this.capacity = capacity;
+        evict(null);
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+
+        Segment() {
+            super(16, .75f, true);
+        }
+
+        /**
+         * Removes the least recently used entry of this segment, unless its key is the given key.
+         *
+         * @return true, if an entry has been removed.
+         */
+        synchronized boolean evictEldest(@Nullable K keep) {
+            var iterator = entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, V> entry = iterator.next();
+                if (!entry.getKey().equals(keep)) {
+                    iterator.remove();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized int removeAll() {
+            int size = super.size();
+            super.clear();
+            return size;
+        }
+
+        @Override
+        public synchronized V get(Object key) {
+            return super.get(key);
+        }
+
+        @Override
+        public synchronized V put(K key, V value) {
+            return super.put(key, value);
+        }
+
+        @Override
+        public synchronized V remove(Object key) {
+            return super.remove(key);
+        }
+
+        @Override
+        public synchronized void clear() {
+            super.clear();
+        }
+
+        @Override
+        public synchronized int size() {
+            return super.size();
+        }
+    }
+}
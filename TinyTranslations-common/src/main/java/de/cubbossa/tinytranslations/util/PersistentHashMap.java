@@ -0,0 +1,403 @@
+package de.cubbossa.tinytranslations.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * An immutable hash map whose modified copies share all unchanged parts with the original map.
+ * <p>
+ * Entries are stored in a hash array mapped trie, {@link #plus(Object, Object)} and {@link #minus(Object)} therefore
+ * only copy the path from the root to the modified entry instead of all entries, which makes snapshots that are
+ * modified one entry at a time as cheap as a mutable map. The map itself can't be modified, all modifying methods of
+ * {@link Map} throw an {@link UnsupportedOperationException}.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(Node.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentHashMap<?, ?> persistent) {
+            return (PersistentHashMap<K, V>) persistent;
+        }
+        PersistentHashMap<K, V> result = empty();
+        for (Entry<? extends K, ? extends V> e : map.entrySet()) {
+            result = result.plus(e.getKey(), e.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * @return A map with the given entry that shares all other entries with this map, or this map if it already
+     * contains the same value for the key.
+     */
+    public PersistentHashMap<K, V> plus(K key, V value) {
+        Leaf leaf = new Leaf(hash(key), key, value);
+        boolean[] added = new boolean[1];
+        Node root = this.root.put(leaf, 0, added);
+        return root == this.root ? this : new PersistentHashMap<>(root, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * @return A map without the given key that shares all other entries with this map, or this map if it does not
+     * contain the key.
+     */
+    public PersistentHashMap<K, V> minus(Object key) {
+        Node root = this.root.remove(hash(key), key, 0);
+        return root == this.root ? this : new PersistentHashMap<>(root, size - 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Leaf leaf = root.find(hash(key), key, 0);
+        return leaf == null ? null : (V) leaf.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return root.find(hash(key), key, 0) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public @NotNull Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public V remove(Object key) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void putAll(@NotNull Map<? extends K, ? extends V> m) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static int hash(Object key) {
+        int h = Objects.hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    private static int index(int hash, int shift) {
+        return (hash >>> shift) & MASK;
+    }
+
+    private static final class Leaf implements Entry<Object, Object> {
+
+        private final int hash;
+        private final Object key;
+        private final Object value;
+
+        private Leaf(int hash, Object key, Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        boolean matches(int hash, Object key) {
+            return this.hash == hash && Objects.equals(this.key, key);
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Entry<?, ?> e && Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Leaves of keys with equal hashes.
+     */
+    private record Collision(int hash, Leaf[] leaves) {
+
+        @Nullable Leaf find(Object key) {
+            for (Leaf leaf : leaves) {
+                if (Objects.equals(leaf.key, key)) {
+                    return leaf;
+                }
+            }
+            return null;
+        }
+
+        Collision put(Leaf leaf, boolean[] added) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (Objects.equals(leaves[i].key, leaf.key)) {
+                    if (leaves[i].value == leaf.value) {
+                        return this;
+                    }
+                    Leaf[] copy = leaves.clone();
+                    copy[i] = leaf;
+                    return new Collision(hash, copy);
+                }
+            }
+            added[0] = true;
+            Leaf[] copy = Arrays.copyOf(leaves, leaves.length + 1);
+            copy[leaves.length] = leaf;
+            return new Collision(hash, copy);
+        }
+
+        /**
+         * @return This collision if it does not contain the key, otherwise the remaining collision or leaf.
+         */
+        Object remove(Object key) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (Objects.equals(leaves[i].key, key)) {
+                    if (leaves.length == 2) {
+                        return leaves[1 - i];
+                    }
+                    Leaf[] copy = new Leaf[leaves.length - 1];
+                    System.arraycopy(leaves, 0, copy, 0, i);
+                    System.arraycopy(leaves, i + 1, copy, i, copy.length - i);
+                    return new Collision(hash, copy);
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * A trie node with one slot for each set bit of its bitmap. Slots contain a leaf, a collision or a child node.
+     */
+    private static final class Node {
+
+        private static final Node EMPTY = new Node(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        private Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int slot(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Nullable Leaf find(int hash, Object key, int shift) {
+            int bit = 1 << index(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = slots[slot(bit)];
+            if (slot instanceof Node node) {
+                return node.find(hash, key, shift + BITS);
+            }
+            if (slot instanceof Collision collision) {
+                return collision.hash() == hash ? collision.find(key) : null;
+            }
+            Leaf leaf = (Leaf) slot;
+            return leaf.matches(hash, key) ? leaf : null;
+        }
+
+        Node put(Leaf leaf, int shift, boolean[] added) {
+            int bit = 1 << index(leaf.hash, shift);
+            int i = slot(bit);
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+                Object[] copy = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, copy, 0, i);
+                copy[i] = leaf;
+                System.arraycopy(slots, i, copy, i + 1, slots.length - i);
+                return new Node(bitmap | bit, copy);
+            }
+            Object slot = slots[i];
+            Object replacement;
+            if (slot instanceof Node node) {
+                replacement = node.put(leaf, shift + BITS, added);
+            } else if (slot instanceof Collision collision) {
+                replacement = collision.hash() == leaf.hash
+                        ? collision.put(leaf, added)
+                        : split(collision, collision.hash(), leaf, shift + BITS, added);
+            } else {
+                Leaf existing = (Leaf) slot;
+                if (existing.matches(leaf.hash, leaf.key)) {
+                    replacement = existing.value == leaf.value ? existing : leaf;
+                } else if (existing.hash == leaf.hash) {
+                    added[0] = true;
+                    replacement = new Collision(leaf.hash, new Leaf[]{existing, leaf});
+                } else {
+                    replacement = split(existing, existing.hash, leaf, shift + BITS, added);
+                }
+            }
+            if (replacement == slot) {
+                return this;
+            }
+            Object[] copy = slots.clone();
+            copy[i] = replacement;
+            return new Node(bitmap, copy);
+        }
+
+        /**
+         * Creates a node that contains an existing leaf or collision and a leaf with a different hash. Different
+         * hashes differ within the bits that the deepest level of the trie covers, so this always terminates.
+         */
+        private static Node split(Object existing, int existingHash, Leaf leaf, int shift, boolean[] added) {
+            int existingIndex = index(existingHash, shift);
+            Node node = new Node(1 << existingIndex, new Object[]{existing});
+            return node.put(leaf, shift, added);
+        }
+
+        /**
+         * @return This node if it does not contain the key, otherwise the node without it.
+         */
+        Node remove(int hash, Object key, int shift) {
+            int bit = 1 << index(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = slot(bit);
+            Object slot = slots[i];
+            Object replacement;
+            if (slot instanceof Node node) {
+                Node removed = node.remove(hash, key, shift + BITS);
+                if (removed == node) {
+                    return this;
+                }
+                // nodes with a single leaf or collision are replaced by their content
+                replacement = removed.slots.length == 1 && !(removed.slots[0] instanceof Node)
+                        ? removed.slots[0]
+                        : removed;
+            } else if (slot instanceof Collision collision) {
+                if (collision.hash() != hash) {
+                    return this;
+                }
+                replacement = collision.remove(key);
+                if (replacement == collision) {
+                    return this;
+                }
+            } else if (((Leaf) slot).matches(hash, key)) {
+                replacement = null;
+            } else {
+                return this;
+            }
+            if (replacement != null) {
+                Object[] copy = slots.clone();
+                copy[i] = replacement;
+                return new Node(bitmap, copy);
+            }
+            Object[] copy = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, copy, 0, i);
+            System.arraycopy(slots, i + 1, copy, i, copy.length - i);
+            return new Node(bitmap & ~bit, copy);
+        }
+    }
+
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+
+        // the trie has at most seven levels of nodes, followed by the leaves of a collision
+        private final Object[][] stack = new Object[8][];
+        private final int[] positions = new int[8];
+        private int depth = 0;
+        private @Nullable Leaf next;
+
+        private EntryIterator(Node root) {
+            stack[0] = root.slots;
+            next = advance();
+        }
+
+        private @Nullable Leaf advance() {
+            while (depth >= 0) {
+                Object[] slots = stack[depth];
+                if (positions[depth] == slots.length) {
+                    depth--;
+                    continue;
+                }
+                Object slot = slots[positions[depth]++];
+                if (slot instanceof Leaf leaf) {
+                    return leaf;
+                }
+                depth++;
+                stack[depth] = slot instanceof Node node ? node.slots : ((Collision) slot).leaves();
+                positions[depth] = 0;
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            Leaf leaf = next;
+            if (leaf == null) {
+                throw new NoSuchElementException();
+            }
+            next = advance();
+            return (Entry<K, V>) (Entry<?, ?>) leaf;
+        }
+    }
+}
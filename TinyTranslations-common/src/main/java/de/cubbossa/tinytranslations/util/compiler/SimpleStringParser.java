@@ -4,19 +4,49 @@ import lombok.Getter;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
+/**
+ * Base class for simple backtracking parsers. Tokens are kept in an array and addressed by index, markers store plain
+ * indices into the token array and the stack of open markers. Completed markers turn into nodes right away: since
+ * markers nest, all nodes on the node stack that start within a completed marker are its children. Rolling back a
+ * marker pops the nodes and markers that were created after it, so backtracking costs only as much as the work that
+ * is undone.
+ * <p>
+ * Rules whose result only depends on the position they start at can be {@link #memoize(int, BooleanSupplier) memoized},
+ * so that backtracking never parses the same rule at the same position twice. Parsers can limit the nesting of their
+ * rules via {@link #enterNested()}, rules that go deeper fail together with all memoized rules that contain them.
+ */
 public abstract class SimpleStringParser<TokenT, TokenValueT, NodeT> {
 
-    private final Queue<Region> regions;
-    private final Stack<Marker> openMarkers;
-    private final LinkedList<TokenValueT> tokens;
+    private final ArrayList<Node> nodes;
+    private final ArrayList<Marker> openMarkers;
+    private final TokenValueT[] tokens;
     private int currentToken = 0;
+    private Object[][] memo = new Object[0][];
+    private final Map<TokenT, int[]> nextIndices = new HashMap<>();
+    private final int maxNesting;
+    private int nesting = 0;
+    // the deepest nesting and whether the nesting limit was reached while parsing the current memoized rule
+    private int deepest = 0;
+    private boolean capped = false;
+    // the number of memoized rules that are being parsed
+    private int tracked = 0;
 
     public SimpleStringParser(List<TokenValueT> tokens) {
-        regions = new LinkedList<>();
-        openMarkers = new Stack<>();
-        this.tokens = new LinkedList<>(tokens);
+        this(tokens, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxNesting The number of nested rules that {@link #enterNested()} allows.
+     */
+    @SuppressWarnings("unchecked")
+    protected SimpleStringParser(List<TokenValueT> tokens, int maxNesting) {
+        nodes = new ArrayList<>();
+        openMarkers = new ArrayList<>();
+        this.tokens = (TokenValueT[]) tokens.toArray();
+        this.maxNesting = maxNesting;
     }
 
     public abstract Node parse();
@@ -24,9 +54,8 @@ public abstract class SimpleStringParser<TokenT, TokenValueT, NodeT> {
     public abstract @Nullable TokenT getTokenType(@Nullable TokenValueT value);
 
     public Marker mark() {
-        Marker m = new Marker();
-        m.start = currentToken;
-        openMarkers.push(m);
+        Marker m = new Marker(currentToken, openMarkers.size());
+        openMarkers.add(m);
         return m;
     }
 
@@ -35,101 +64,340 @@ public abstract class SimpleStringParser<TokenT, TokenValueT, NodeT> {
     }
 
     public TokenValueT getCurrentToken() {
-        if (tokens.size() <= currentToken) {
+        if (tokens.length <= currentToken) {
             return null;
         }
-        return tokens.get(currentToken);
+        return tokens[currentToken];
     }
 
     public TokenT lookAhead(int count) {
-        if (currentToken + count >= tokens.size()) {
+        if (currentToken + count >= tokens.length) {
             return null;
         }
-        return getTokenType(tokens.get(currentToken + count));
+        return getTokenType(tokens[currentToken + count]);
     }
 
-    public String getTokenText() {
-        return getCurrentToken().toString();
+    public @Nullable String getTokenText() {
+        TokenValueT token = getCurrentToken();
+        return token == null ? null : token.toString();
     }
 
     public TokenT getTokenType() {
         return getTokenType(getCurrentToken());
     }
 
-    public Node buildTree() {
+    protected int getTokenCount() {
+        return tokens.length;
+    }
 
-        List<Node> sib = new ArrayList<>();
+    protected int getCurrentIndex() {
+        return currentToken;
+    }
 
-        while (!regions.isEmpty()) {
-            Region region = regions.poll();
-            List<Node> children = new ArrayList<>();
-            for (Node n : new ArrayList<>(sib)) {
-                if (n.start >= region.start && n.end <= region.end) {
-                    sib.remove(n);
-                    children.add(n);
-                }
-            }
-            Node n = new Node(region.type, region.start, region.end, children);
-            sib.add(n);
+    /**
+     * Appends the text of a single token to the given builder. Override to avoid creating intermediate strings.
+     */
+    protected void appendToken(StringBuilder builder, TokenValueT token) {
+        builder.append(token);
+    }
+
+    public Node buildTree() {
+        return new Node(null, 0, tokens.length, new ArrayList<>(nodes));
+    }
+
+    /**
+     * @return The index of the first node on the node stack that starts at or after the given token index.
+     */
+    private int firstNodeFrom(int start) {
+        int index = nodes.size();
+        while (index > 0 && nodes.get(index - 1).start >= start) {
+            index--;
         }
-        return new Node(null, 0, tokens.size(), new ArrayList<>(sib));
+        return index;
     }
 
     public class Marker {
 
-        int start = 0;
+        final int start;
+        final int depth;
         boolean incomplete = true;
 
+        private Marker(int start, int depth) {
+            this.start = start;
+            this.depth = depth;
+        }
+
         public void rollback() {
-            while (!openMarkers.peek().equals(this)) {
-                openMarkers.pop().incomplete = false;
+            if (openMarkers.size() <= depth || openMarkers.get(depth) != this) {
+                throw new IllegalStateException("This marker is not open.");
             }
-            regions.removeIf(region -> region.start >= start);
-            openMarkers.pop();
+            for (int i = openMarkers.size() - 1; i >= depth; i--) {
+                openMarkers.remove(i).incomplete = false;
+            }
+            // also drops empty nodes that were completed at the start index right before marking
+            truncate(nodes, firstNodeFrom(start));
             currentToken = start;
-            incomplete = false;
         }
 
         public void dispose() {
             incomplete = false;
-            openMarkers.pop();
+            openMarkers.remove(openMarkers.size() - 1);
         }
 
         public void done(NodeT type) {
             if (!incomplete) {
                 throw new IllegalStateException("This marker is not valid");
             }
-            if (openMarkers.isEmpty() || !openMarkers.peek().equals(this)) {
+            if (openMarkers.isEmpty() || openMarkers.get(openMarkers.size() - 1) != this) {
                 throw new IllegalStateException("Complete or dispose all markers first that were added after this marker.");
             }
-            regions.add(new Region(start, currentToken, type));
+            int first = firstNodeFrom(start);
+            List<Node> children = new ArrayList<>(nodes.subList(first, nodes.size()));
+            truncate(nodes, first);
+            nodes.add(new Node(type, start, currentToken, children));
             incomplete = false;
-            openMarkers.pop();
+            openMarkers.remove(openMarkers.size() - 1);
         }
 
         @Override
         public String toString() {
-            return tokens.subList(start, currentToken).stream().map(Objects::toString).collect(Collectors.joining("")) + (incomplete ? "..." : "");
+            return Arrays.stream(tokens, start, currentToken).map(Objects::toString).collect(Collectors.joining("")) + (incomplete ? "..." : "");
         }
     }
 
-    private class Region {
+    /**
+     * Moves the current position to the given token index.
+     */
+    protected void advanceTo(int index) {
+        currentToken = index;
+    }
 
-        final int start;
-        final int end;
-        final NodeT type;
-        final TokenValueT[] tokens;
+    /**
+     * @param type The token type to look for.
+     * @param from The token index to start searching at.
+     * @return The index of the first token of the given type at or after the given index or -1, if there is none.
+     */
+    protected int indexOf(TokenT type, int from) {
+        if (from >= tokens.length) {
+            return -1;
+        }
+        int[] next = nextIndices.computeIfAbsent(type, t -> {
+            int[] indices = new int[tokens.length + 1];
+            indices[tokens.length] = -1;
+            for (int i = tokens.length - 1; i >= 0; i--) {
+                indices[i] = Objects.equals(getTokenType(tokens[i]), t) ? i : indices[i + 1];
+            }
+            return indices;
+        });
+        return next[Integer.max(from, 0)];
+    }
 
-        private Region(int start, int end, NodeT type) {
-            this.start = start;
-            this.end = end;
-            this.type = type;
-            tokens = (TokenValueT[]) SimpleStringParser.this.tokens.subList(start, end).toArray();
+    /**
+     * Parses a rule at the current position at most once. If the rule is parsed at the same position again, its nodes
+     * are pushed again and the position is moved behind them, or it fails right away.
+     * <p>
+     * Only rules whose result does not depend on the context they are parsed in may be memoized. They must either
+     * succeed or roll back all their changes. The nesting limit is the only context that is allowed: a rule that
+     * reaches the limit fails, and so does every memoized rule that contains it. Whether a memoized result holds at
+     * another nesting therefore only depends on how deep its nested rules go.
+     *
+     * @param rule   A unique id of the rule, small non-negative numbers.
+     * @param parser The actual rule.
+     * @return true, if the rule succeeded.
+     */
+    @SuppressWarnings("unchecked")
+    protected boolean memoize(int rule, BooleanSupplier parser) {
+        Object[] results = results(rule);
+        int start = currentToken;
+        // nodes that were completed at the start position would become children of the rule, replaying would skip them
+        boolean replayable = firstNodeFrom(start) == nodes.size();
+        Memo memoized = (Memo) results[start];
+        if (memoized != null && exceedsLimit(memoized)) {
+            return false;
+        }
+        if (memoized != null && memoized.complete) {
+            deepest = Integer.max(deepest, nesting + memoized.depth);
+            if (memoized.end < 0) {
+                return false;
+            }
+            if (replayable) {
+                nodes.addAll((List<Node>) memoized.nodes);
+                currentToken = memoized.end;
+                return true;
+            }
+        }
+        int size = nodes.size();
+        Tracking tracking = track();
+        boolean success = parser.getAsBoolean();
+        int depth = deepest - nesting;
+        if (untrack(tracking)) {
+            // rules that reach the limit fail, even if they were completed
+            if (success) {
+                truncate(nodes, firstNodeFrom(start));
+                currentToken = start;
+            }
+            results[start] = limited();
+            return false;
+        }
+        if (!success) {
+            results[start] = depth == 0 ? Memo.FAILED : new Memo(-1, Collections.emptyList(), depth, true);
+        } else if (replayable) {
+            results[start] = new Memo(currentToken, List.copyOf(nodes.subList(size, nodes.size())), depth, true);
         }
+        return success;
+    }
 
-        @Override
-        public String toString() {
-            return "<" + type + ">['" + Arrays.stream(tokens).map(Objects::toString).collect(Collectors.joining("")) + "']";
+    /**
+     * Enters a rule that counts towards the nesting limit of this parser. Rules must call {@link #exitNested()} once
+     * they are done, unless this method returned false.
+     *
+     * @return false, if the nesting limit has been reached and the rule must not be parsed.
+     */
+    protected boolean enterNested() {
+        if (nesting >= maxNesting) {
+            capped = true;
+            return false;
+        }
+        nesting++;
+        deepest = Integer.max(deepest, nesting);
+        return true;
+    }
+
+    protected void exitNested() {
+        nesting--;
+    }
+
+    /**
+     * @return true, if a rule reached the nesting limit within the memoized rule that is being parsed, which is going
+     * to fail anyway.
+     */
+    protected boolean limitReached() {
+        return capped && tracked > 0;
+    }
+
+    /**
+     * A memoized result exceeds the limit at the current nesting, if its nested rules go deeper than the limit from
+     * here. Rules that reached the limit before are only known to go deeper than the limit from their nesting back
+     * then, so they exceed it at the same nesting or deeper.
+     */
+    private boolean exceedsLimit(Memo memo) {
+        if (memo.depth <= maxNesting - nesting) {
+            return false;
+        }
+        capped = true;
+        return true;
+    }
+
+    /**
+     * @return The result of a rule that reached the nesting limit at the current nesting.
+     */
+    private Memo limited() {
+        return new Memo(-1, Collections.emptyList(), maxNesting - nesting + 1, false);
+    }
+
+    private record Tracking(int deepest, boolean capped) {
+    }
+
+    private Tracking track() {
+        Tracking outer = new Tracking(deepest, capped);
+        deepest = nesting;
+        capped = false;
+        tracked++;
+        return outer;
+    }
+
+    /**
+     * @return true, if a rule reached the nesting limit since {@link #track()}.
+     */
+    private boolean untrack(Tracking outer) {
+        boolean reached = capped;
+        deepest = Integer.max(outer.deepest(), deepest);
+        capped = outer.capped() || capped;
+        tracked--;
+        return reached;
+    }
+
+    /**
+     * Parses elements until the condition fails or all tokens are consumed. Every position that a repetition starts an
+     * element at is memoized together with the nodes that follow it, so a later repetition of the same rule that reaches
+     * such a position takes over the remaining nodes instead of parsing them again.
+     * <p>
+     * The same restrictions as for {@link #memoize(int, BooleanSupplier)} apply, the condition must only depend on the
+     * current position. Rule ids are shared with memoized rules. Repetitions stop as soon as an element reaches the
+     * nesting limit, since the memoized rule that contains them fails anyway.
+     *
+     * @param rule      A unique id of the repetition, small non-negative numbers.
+     * @param condition The condition to parse another element.
+     * @param element   Parses a single element, must consume at least one token.
+     */
+    @SuppressWarnings("unchecked")
+    protected void repeat(int rule, BooleanSupplier condition, Runnable element) {
+        Object[] tails = results(rule);
+        int first = nodes.size();
+        int[] starts = new int[8];
+        int count = 0;
+        Tracking tracking = track();
+        while (!capped && currentToken < tokens.length && condition.getAsBoolean()) {
+            Memo tail = (Memo) tails[currentToken];
+            if (tail != null && exceedsLimit(tail)) {
+                break;
+            }
+            if (tail != null && tail.complete) {
+                deepest = Integer.max(deepest, nesting + tail.depth);
+                nodes.addAll((List<Node>) tail.nodes);
+                currentToken = tail.end;
+                break;
+            }
+            if (count + 2 > starts.length) {
+                starts = Arrays.copyOf(starts, starts.length * 2);
+            }
+            starts[count++] = currentToken;
+            starts[count++] = nodes.size() - first;
+            element.run();
+        }
+        int depth = deepest - nesting;
+        if (untrack(tracking)) {
+            // all stored positions are followed by the element that reached the limit
+            Memo limited = limited();
+            for (int i = 0; i < count; i += 2) {
+                tails[starts[i]] = limited;
+            }
+            return;
+        }
+        if (count == 0) {
+            return;
+        }
+        List<Node> repeated = List.copyOf(nodes.subList(first, nodes.size()));
+        for (int i = 0; i < count; i += 2) {
+            tails[starts[i]] = new Memo(currentToken, repeated.subList(starts[i + 1], repeated.size()), depth, true);
+        }
+    }
+
+    private Object[] results(int rule) {
+        if (rule >= memo.length) {
+            memo = Arrays.copyOf(memo, rule + 1);
+        }
+        Object[] results = memo[rule];
+        if (results == null) {
+            results = new Object[tokens.length + 1];
+            memo[rule] = results;
+        }
+        return results;
+    }
+
+    /**
+     * @param end      The position after the rule or -1, if the rule failed.
+     * @param depth    The number of nested rules that parsing the rule entered. If the rule reached the nesting limit,
+     *                 only a lower bound that exceeds the limit from the nesting that the rule was parsed at.
+     * @param complete false, if the rule reached the nesting limit and was not parsed completely.
+     */
+    private record Memo(int end, List<?> nodes, int depth, boolean complete) {
+        static final Memo FAILED = new Memo(-1, Collections.emptyList(), 0, true);
+    }
+
+    private static void truncate(ArrayList<?> list, int size) {
+        if (list.size() > size) {
+            list.subList(size, list.size()).clear();
         }
     }
 
@@ -157,10 +425,6 @@ public abstract class SimpleStringParser<TokenT, TokenValueT, NodeT> {
             }
         }
 
-        private Node(Region region) {
-            this(region.type, region.start, region.end, new ArrayList<>());
-        }
-
         public void replace(String other) {
             replace(new Node(null, start, end, other));
         }
@@ -189,24 +453,44 @@ public abstract class SimpleStringParser<TokenT, TokenValueT, NodeT> {
             if (hardCode != null) {
                 return hardCode;
             }
+            StringBuilder builder = new StringBuilder();
+            appendText(builder);
+            return builder.toString();
+        }
+
+        /**
+         * Appends the text of this node to the given builder. Tokens that are not covered by a child are appended
+         * directly, children append their own text in their place.
+         *
+         * @param builder The builder to append to.
+         */
+        public void appendText(StringBuilder builder) {
+            if (hardCode != null) {
+                builder.append(hardCode);
+                return;
+            }
             if (start == end) {
-                return "";
+                return;
             }
-            StringBuilder s = new StringBuilder();
             int i = start;
-            while (i < end) {
-                int before = i;
-                for (Node child : children) {
-                    if (child.start == i) {
-                        s.append(child.getText());
-                        i = Integer.max(i, child.end);
-                    }
+            for (Node child : children) {
+                if (child.start < i) {
+                    continue;
                 }
-                if (before == i) {
-                    s.append(tokens.get(i++));
+                if (child.start > i) {
+                    if (child.start >= end) {
+                        break;
+                    }
+                    while (i < child.start) {
+                        appendToken(builder, tokens[i++]);
+                    }
                 }
+                child.appendText(builder);
+                i = Integer.max(i, child.end);
+            }
+            while (i < end) {
+                appendToken(builder, tokens[i++]);
             }
-            return s.toString();
         }
 
         @Override
@@ -0,0 +1,43 @@
+package de.cubbossa.tinytranslations;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.Component.translatable;
+
+class AdventureTranslatorAdapterTest extends AbstractTest {
+
+    private Component translate(String key) {
+        return AdventureTranslatorAdapter.instance().translate(translatable(key), Locale.ENGLISH);
+    }
+
+    @Test
+    void translateIndexedKeys() {
+        Message message = translator.messageBuilder("a").withDefault("A").build();
+
+        Assertions.assertEquals(text("A"), translate("testapp.a").compact());
+        Assertions.assertEquals(text("A"), translate("a").compact());
+        Assertions.assertNull(translate("block.minecraft.stone"));
+        Assertions.assertEquals(translatable("block.minecraft.stone"),
+                GlobalTranslator.render(translatable("block.minecraft.stone"), Locale.ENGLISH));
+
+        translator.getMessageSet().remove(message.getKey());
+        Assertions.assertNull(translate("testapp.a"));
+    }
+
+    @Test
+    void closedTranslatorsAreRemoved() {
+        MessageTranslator other = TinyTranslations.application("Other");
+        other.messageBuilder("b").withDefault("B").build();
+        Assertions.assertEquals(text("B"), translate("other.b").compact());
+
+        other.close();
+        Assertions.assertNull(translate("other.b"));
+        Assertions.assertFalse(AdventureTranslatorAdapter.instance().getTranslators().contains(other));
+    }
+}
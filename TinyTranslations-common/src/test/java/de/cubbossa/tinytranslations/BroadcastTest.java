@@ -0,0 +1,51 @@
+package de.cubbossa.tinytranslations;
+
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static net.kyori.adventure.text.Component.text;
+
+class BroadcastTest extends AbstractTest {
+
+    private record Recipient(String name, Locale locale) {
+    }
+
+    @Test
+    void renderOncePerLocale() {
+        Message message = translator.messageBuilder("broadcast")
+                .withTranslation(Locale.ENGLISH, "Hello")
+                .withTranslation(Locale.GERMAN, "Hallo")
+                .build();
+        List<Recipient> recipients = List.of(
+                new Recipient("a", Locale.ENGLISH),
+                new Recipient("b", Locale.GERMAN),
+                new Recipient("c", Locale.ENGLISH),
+                new Recipient("d", Locale.ENGLISH),
+                new Recipient("e", Locale.GERMAN)
+        );
+        Map<String, Component> received = new HashMap<>();
+
+        long renders = Broadcast.renders();
+        long saved = Broadcast.rendersSaved();
+        Broadcast.send(recipients, message, Recipient::locale, (r, c) -> received.put(r.name(), c));
+
+        Assertions.assertEquals(2, Broadcast.renders() - renders);
+        Assertions.assertEquals(3, Broadcast.rendersSaved() - saved);
+        Assertions.assertEquals(5, received.size());
+        Assertions.assertSame(received.get("a"), received.get("c"));
+        Assertions.assertSame(received.get("a"), received.get("d"));
+        Assertions.assertSame(received.get("b"), received.get("e"));
+        Assertions.assertEquals(text("Hello"), received.get("a").compact());
+        Assertions.assertEquals(text("Hallo"), received.get("b").compact());
+    }
+
+    @Test
+    void noRecipients() {
+        long renders = Broadcast.renders();
+        Broadcast.send(Collections.<Recipient>emptyList(), text("x"), Recipient::locale, (r, c) -> Assertions.fail());
+        Assertions.assertEquals(renders, Broadcast.renders());
+    }
+}
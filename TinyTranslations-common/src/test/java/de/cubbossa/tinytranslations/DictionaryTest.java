@@ -0,0 +1,57 @@
+package de.cubbossa.tinytranslations;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+class DictionaryTest {
+
+    @Test
+    void mapView() {
+        Map<Locale, String> map = new HashMap<>();
+        map.put(Locale.ENGLISH, "English");
+        map.put(Locale.GERMANY, "Deutschland");
+        map.put(Locale.FRENCH, null);
+        Dictionary dictionary = Dictionary.of(map);
+
+        map.remove(Locale.FRENCH);
+        Assertions.assertEquals(map, dictionary);
+        Assertions.assertEquals(dictionary, map);
+        Assertions.assertEquals(map.hashCode(), dictionary.hashCode());
+        Assertions.assertEquals(2, dictionary.size());
+        Assertions.assertEquals("Deutschland", dictionary.get(Locale.GERMANY));
+        Assertions.assertNull(dictionary.get(Locale.FRENCH));
+        Assertions.assertNull(dictionary.get(new Locale("xx", "YY")));
+        Assertions.assertNull(dictionary.get("en"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> dictionary.put(Locale.ITALIAN, "Italiano"));
+    }
+
+    @Test
+    void with() {
+        Dictionary dictionary = Dictionary.of(Locale.ENGLISH, "English");
+        Dictionary german = dictionary.with(Locale.GERMAN, "Deutsch");
+
+        Assertions.assertEquals(Map.of(Locale.ENGLISH, "English"), dictionary);
+        Assertions.assertEquals(Map.of(Locale.ENGLISH, "English", Locale.GERMAN, "Deutsch"), german);
+        Assertions.assertSame(german, german.with(Locale.GERMAN, "Deutsch"));
+        Assertions.assertEquals(dictionary, german.with(Locale.GERMAN, null));
+        Assertions.assertSame(Dictionary.EMPTY, dictionary.with(Locale.ENGLISH, null));
+    }
+
+    @Test
+    void copiesShareDictionary() {
+        Message message = Message.builder("a")
+                .withTranslation(Locale.ENGLISH, "A")
+                .withTranslation(Locale.GERMAN, "Deutsch")
+                .build();
+        Message copy = message.insertString("x", "y").comment("comment");
+        Assertions.assertSame(message.dictionary(), copy.dictionary());
+
+        Message changed = copy.dictionaryEntry(Locale.GERMAN, "B");
+        Assertions.assertEquals("B", changed.dictionary().get(Locale.GERMAN));
+        Assertions.assertEquals("Deutsch", message.dictionary().get(Locale.GERMAN));
+    }
+}
@@ -0,0 +1,47 @@
+package de.cubbossa.tinytranslations;
+
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static net.kyori.adventure.text.Component.text;
+
+class MessageDefinitionTest extends AbstractTest {
+
+    @Test
+    void copiesShareDefinition() {
+        MessageImpl message = (MessageImpl) translator.messageBuilder("a")
+                .withDefault("{a} {b} {c}")
+                .withPlaceholder("a", "first")
+                .build();
+        Message formatted = message
+                .insertString("a", "1")
+                .insertNumber("b", 2)
+                .insertString("c", "3");
+        MessageImpl copy = (MessageImpl) formatted.style(Style.style(NamedTextColor.RED));
+
+        Assertions.assertSame(message.getDefinition(), copy.getDefinition());
+        Assertions.assertEquals(Style.empty(), message.style());
+        Assertions.assertEquals(NamedTextColor.RED, copy.color());
+        Assertions.assertTrue(message.insertedObjects().isEmpty());
+        assertRenderEquals(text("1 2 3"), translator.translate(formatted, Locale.ENGLISH));
+    }
+
+    @Test
+    void changesCreateNewDefinition() {
+        MessageImpl message = (MessageImpl) translator.messageBuilder("a")
+                .withDefault("A")
+                .withPlaceholder("a", "first")
+                .build();
+        Message commented = message.comment("Comment");
+
+        Assertions.assertNotSame(message.getDefinition(), ((MessageImpl) commented).getDefinition());
+        Assertions.assertEquals(message.comment(), message.comment());
+        Assertions.assertEquals("Comment\n<a>: first", commented.comment());
+        Assertions.assertEquals(List.of("A"), List.copyOf(message.dictionary().values()));
+    }
+}
@@ -0,0 +1,155 @@
+package de.cubbossa.tinytranslations;
+
+import de.cubbossa.tinytranslations.storage.MessageStorage;
+import de.cubbossa.tinytranslations.storage.StorageEntry;
+import de.cubbossa.tinytranslations.storage.StyleStorage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.kyori.adventure.text.Component.text;
+
+class MessageTranslatorConcurrencyTest extends AbstractTest {
+
+    private static final int READERS = 4;
+    private static final int RELOADS = 200;
+
+    @Test
+    void translateWhileReloading() throws Exception {
+        Message greeting = translator.messageBuilder("greeting").withDefault("Hello").build();
+        Message reference = translator.messageBuilder("reference").withDefault("{msg:greeting}!").build();
+        AtomicInteger loads = new AtomicInteger();
+        translator.setMessageStorage(new MessageStorage() {
+            @Override
+            public Collection<Locale> fetchLocales() {
+                return List.of(Locale.ENGLISH);
+            }
+
+            @Override
+            public Map<TranslationKey, StorageEntry> readMessages(Locale locale) {
+                String value = loads.incrementAndGet() % 2 == 0 ? "Hello" : "Hi";
+                return Map.of(
+                        TranslationKey.of(translator.getPath(), "greeting"), new StorageEntry("greeting", value, null),
+                        TranslationKey.of(translator.getPath(), "loaded"), new StorageEntry("loaded", value, null)
+                );
+            }
+
+            @Override
+            public Collection<Message> overwriteMessages(Collection<Message> messages, Locale locale) {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public Collection<Message> writeMessages(Collection<Message> messages, Locale locale) {
+                return Collections.emptyList();
+            }
+        });
+        PlainTextComponentSerializer plain = PlainTextComponentSerializer.plainText();
+        Set<String> greetings = Set.of("Hello", "Hi");
+        Set<String> references = Set.of("Hello!", "Hi!");
+
+        ExecutorService executor = Executors.newFixedThreadPool(READERS + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                readers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        String g = plain.serialize(render(translator.translate(greeting)));
+                        Assertions.assertTrue(greetings.contains(g), g);
+                        String r = plain.serialize(render(translator.translate(reference)));
+                        Assertions.assertTrue(references.contains(r), r);
+                        Message loaded = translator.getMessage("loaded");
+                        if (loaded != null) {
+                            Assertions.assertTrue(greetings.contains(loaded.dictionary().get(Locale.ENGLISH)));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < RELOADS; i++) {
+                    translator.loadLocale(Locale.ENGLISH);
+                    translator.messageBuilder("added" + i).withDefault("Added").build();
+                    translator.formatted(Placeholder.component("added" + i, text(i)));
+                }
+                return null;
+            });
+            writer.get(30, TimeUnit.SECONDS);
+            running.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+        Assertions.assertNotNull(translator.getMessage("added" + (RELOADS - 1)));
+        Assertions.assertEquals(RELOADS, translator.getResolvers().size());
+    }
+
+    @Test
+    void translateWhileReloadingStyles() throws Exception {
+        Message styled = translator.messageBuilder("styled").withDefault("<s>x</s>").build();
+        AtomicInteger loads = new AtomicInteger();
+        translator.setStyleStorage(new StyleStorage() {
+            @Override
+            public void writeStyles(Map<String, MessageStyle> styles) {
+            }
+
+            @Override
+            public Map<String, MessageStyle> loadStyles() {
+                String format = loads.incrementAndGet() % 2 == 0 ? "[{slot}]" : "({slot})";
+                Map<String, MessageStyle> styles = new HashMap<>();
+                styles.put("s", MessageStyle.messageStyle("s", format));
+                for (int i = 0; i < 64; i++) {
+                    styles.put("filler" + i, MessageStyle.messageStyle("filler" + i, format));
+                }
+                return styles;
+            }
+        });
+        translator.loadStyles();
+        PlainTextComponentSerializer plain = PlainTextComponentSerializer.plainText();
+        Set<String> results = Set.of("[x]", "(x)");
+
+        ExecutorService executor = Executors.newFixedThreadPool(READERS + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                readers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        String result = plain.serialize(render(translator.translate(styled)));
+                        Assertions.assertTrue(results.contains(result), result);
+                        AtomicInteger styles = new AtomicInteger();
+                        translator.getStyleSet().forEach((key, style) -> styles.incrementAndGet());
+                        Assertions.assertTrue(styles.get() >= 65);
+                    }
+                    return null;
+                }));
+            }
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < RELOADS; i++) {
+                    ((MessageTranslatorImpl) translator).reloadStyles();
+                }
+                return null;
+            });
+            writer.get(30, TimeUnit.SECONDS);
+            running.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+        String expected = loads.get() % 2 == 0 ? "[x]" : "(x)";
+        Assertions.assertEquals(expected, plain.serialize(render(translator.translate(styled))));
+    }
+}
@@ -1,9 +1,12 @@
 package de.cubbossa.tinytranslations;
 
+import de.cubbossa.tinytranslations.tinyobject.TinyObjectMapping;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.Style;
 import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -96,6 +99,23 @@ public class MessageTranslatorImplInheritanceTest extends AbstractTest {
         assertEquals(m1, translator.getMessageByNamespace("global", "a"));
     }
 
+    @Test
+    void getByNamespaceOfGrandchild() {
+        MessageTranslator child = translator.fork("Child");
+        Message m = child.messageBuilder("a").withDefault("A").build();
+        child.getStyleSet().put("s", "<red>{slot}</red>");
+
+        assertEquals("global.sub.child", child.getPath());
+        assertEquals(m, server.getMessageByNamespace("global.sub.child", "a"));
+        assertEquals(m, translator.getMessageByNamespace("global.Sub.Child", "a"));
+        Assertions.assertNotNull(server.getStyleByNamespace("global.sub.child", "s"));
+        Assertions.assertNull(server.getMessageByNamespace("global.child", "a"));
+
+        child.close();
+        Assertions.assertNull(server.getMessageByNamespace("global.sub.child", "a"));
+        Assertions.assertDoesNotThrow(() -> translator.fork("Child"));
+    }
+
     @Test
     public void testDefaultsAvailable() {
         Assertions.assertEquals(
@@ -121,4 +141,54 @@ public class MessageTranslatorImplInheritanceTest extends AbstractTest {
                 translator.translate("<negative>X")
         );
     }
+
+    @Test
+    void parentResolversChangeAfterRender() {
+        Message m = translator.messageBuilder("a").withDefault("<x/>").build();
+        assertEquals(text("<x/>"), translator.translate(m).compact());
+
+        server.formatted(TagResolver.resolver("x", Tag.selfClosingInserting(text("parent"))));
+        assertEquals(text("parent"), translator.translate(m).compact());
+
+        translator.formatted(TagResolver.resolver("x", Tag.selfClosingInserting(text("own"))));
+        assertEquals(text("own"), translator.translate(m).compact());
+        assertEquals(text("parent"), server.translate("<x/>").compact());
+    }
+
+    @Test
+    void parentObjectMappingsChangeAfterRender() {
+        Assertions.assertFalse(translator.getTinyObjectResolvers().stream()
+                .anyMatch(mapping -> mapping.matches(new Description("x"))));
+
+        server.add(TinyObjectMapping.builder(Description.class)
+                .with("name", Description::name)
+                .withFallbackConversion(d -> text(d.name()))
+                .build());
+        Assertions.assertTrue(translator.getTinyObjectResolvers().stream()
+                .anyMatch(mapping -> mapping.matches(new Description("x"))));
+
+        translator.insertObject("desc", new Description("tim"));
+        Message a = translator.messageBuilder("a").withDefault("{desc:name}").build();
+        assertEquals(text("tim"), translator.translate(a).compact());
+    }
+
+    @Test
+    void parentObjectsAreRenderedEveryTime() {
+        server.add(TinyObjectMapping.builder(Counter.class)
+                .withFallbackConversion(c -> text(c.value))
+                .build());
+        Counter counter = new Counter();
+        server.insertObject("counter", counter);
+        Message m = translator.messageBuilder("count").withDefault("<counter/>").build();
+        assertEquals(text("0"), translator.translate(m).compact());
+        counter.value++;
+        assertEquals(text("1"), translator.translate(m).compact());
+    }
+
+    private static final class Counter {
+        private int value;
+    }
+
+    private record Description(String name) {
+    }
 }
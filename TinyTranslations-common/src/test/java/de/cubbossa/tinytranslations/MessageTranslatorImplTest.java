@@ -1,5 +1,7 @@
 package de.cubbossa.tinytranslations;
 
+import de.cubbossa.tinytranslations.nanomessage.NanoMessage;
+import de.cubbossa.tinytranslations.nanomessage.tag.StyleTag;
 import de.cubbossa.tinytranslations.storage.MessageStorage;
 import de.cubbossa.tinytranslations.storage.StorageEntry;
 import de.cubbossa.tinytranslations.storage.properties.PropertiesMessageStorage;
@@ -10,8 +12,10 @@ import de.cubbossa.tinytranslations.util.ListSection;
 import de.cubbossa.tinytranslations.util.MessageUtil;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.minimessage.tag.Tag;
 import net.kyori.adventure.text.minimessage.tag.resolver.Formatter;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import net.kyori.adventure.translation.GlobalTranslator;
 import org.junit.jupiter.api.Assertions;
@@ -20,6 +24,8 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static net.kyori.adventure.text.Component.*;
 import static net.kyori.adventure.text.format.TextColor.color;
@@ -260,6 +266,56 @@ class MessageTranslatorImplTest extends AbstractTest {
         assertRenderEquals(text("Worked!"), translator.translate(abc));
     }
 
+    @Test
+    void reloadReport() {
+        Message a = translator.messageBuilder("a").withDefault("A").build();
+        Message c = translator.messageBuilder("c").withDefault("C").build();
+        Map<TranslationKey, StorageEntry> stored = new HashMap<>();
+        translator.setMessageStorage(new MessageStorage() {
+            @Override
+            public Collection<Locale> fetchLocales() {
+                return List.of(Locale.ENGLISH);
+            }
+
+            @Override
+            public Map<TranslationKey, StorageEntry> readMessages(Locale locale) {
+                return new HashMap<>(stored);
+            }
+
+            @Override
+            public Collection<Message> overwriteMessages(Collection<Message> messages, Locale locale) {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public Collection<Message> writeMessages(Collection<Message> messages, Locale locale) {
+                return Collections.emptyList();
+            }
+        });
+        TranslationKey b = TranslationKey.of(translator.getPath(), "b");
+        stored.put(a.getKey(), new StorageEntry("a", "A2", null));
+        stored.put(b, new StorageEntry("b", "B", null));
+        stored.put(c.getKey(), new StorageEntry("c", "C", null));
+
+        ReloadReport report = translator.reloadLocales();
+        assertEquals(Set.of(b), report.added());
+        assertEquals(Set.of(a.getKey()), report.changed());
+        assertEquals(Set.of(), report.removed());
+        assertRenderEquals(text("A2"), translator.translate(a));
+
+        Message loaded = translator.getMessage(a.getKey());
+        Assertions.assertTrue(translator.reloadLocale(Locale.ENGLISH).isEmpty());
+        Assertions.assertSame(loaded, translator.getMessage(a.getKey()));
+
+        stored.remove(b);
+        stored.remove(c.getKey());
+        report = translator.reloadLocale(Locale.ENGLISH);
+        assertEquals(Set.of(b), report.removed());
+        Assertions.assertNull(translator.getMessage(b));
+        // messages of the application are kept, even if the storage does not provide them anymore
+        assertRenderEquals(text("C"), translator.translate(c));
+    }
+
     @Test
     public void placeholderInTag() {
 
@@ -399,6 +455,28 @@ class MessageTranslatorImplTest extends AbstractTest {
 //        );
 //    }
 
+    @Test
+    void laterPlaceholdersOverrideEarlierOnes() {
+        Message m = translator.messageBuilder("a").withDefault("{x}").build();
+        assertRenderEquals(text("2"), translator.translate(m.insertString("x", "1").insertString("x", "2")));
+        assertRenderEquals(text("2"), translator.translate(m.formatted(
+                Placeholder.unparsed("x", "1"), Placeholder.unparsed("x", "2"))));
+    }
+
+    @Test
+    void messagePlaceholdersOverrideTranslator() {
+        Message m = translator.messageBuilder("a").withDefault("{x}").build();
+        translator.formatted(Placeholder.unparsed("x", "translator"));
+        assertRenderEquals(text("translator"), translator.translate(m));
+        assertRenderEquals(text("message"), translator.translate(m.insertString("x", "message")));
+
+        Message styled = translator.messageBuilder("b").withDefault("<y>text</y>").build();
+        translator.getStyleSet().put("y", "<red>{slot}</red>");
+        assertRenderEquals(text("text", NamedTextColor.RED), translator.translate(styled));
+        Message placeholder = translator.messageBuilder("c").withDefault("{y}").build();
+        assertRenderEquals(text("message"), translator.translate(placeholder.insertString("y", "message")));
+    }
+
     @Test
     public void getMessageTranslation() {
         Message m = Message.builder("test")
@@ -417,6 +495,35 @@ class MessageTranslatorImplTest extends AbstractTest {
         assertEquals("Francais", MessageUtil.getMessageTranslation(m, Locale.FRANCE));
     }
 
+    @Test
+    void localeFallbacks() {
+        Locale austria = new Locale("de", "AT");
+        Message m = translator.messageBuilder("test")
+                .withTranslation(Locale.ENGLISH, "English")
+                .withTranslation(Locale.GERMAN, "Deutsch")
+                .withTranslation(Locale.GERMANY, "Deutschland")
+                .build();
+        MessageTranslator child = translator.fork("child");
+        LocaleFallbackResolver fallbacks = translator.getLocaleFallbackResolver();
+
+        assertEquals(List.of(austria, Locale.GERMAN, Locale.ENGLISH), fallbacks.fallbackChain(austria));
+        assertRenderEquals(text("Deutsch"), child.translate(m, austria));
+
+        fallbacks.setFallback(austria, Locale.GERMANY);
+        assertEquals(List.of(austria, Locale.GERMANY, Locale.GERMAN, Locale.ENGLISH), fallbacks.fallbackChain(austria));
+        Assertions.assertSame(fallbacks.fallbackChain(austria), fallbacks.fallbackChain(austria));
+        // forks inherit the fallbacks of their parents
+        assertRenderEquals(text("Deutschland"), child.translate(m, austria));
+
+        child.getLocaleFallbackResolver().setFallback(Locale.GERMANY, austria);
+        // the loop back to de_DE continues with the implicit fallback of de_AT
+        assertEquals(List.of(Locale.GERMANY, austria, Locale.GERMAN, Locale.ENGLISH),
+                child.getLocaleFallbackResolver().fallbackChain(Locale.GERMANY));
+
+        fallbacks.removeFallback(austria);
+        assertRenderEquals(text("Deutsch"), translator.translate(m, austria));
+    }
+
     @Test
     public void deepTranslations() {
         Message a = translator.messageBuilder("a")
@@ -721,6 +828,130 @@ class MessageTranslatorImplTest extends AbstractTest {
         );
     }
 
+    @Test
+    void templateHoles() {
+        translator.getStyleSet().put("primary", "<#ff00ff>{slot}</#ff00ff>");
+        MessageTemplate template = MessageTemplate.compile(translator, Scope.EMPTY,
+                "<primary>{player}</primary> {player.name} {a ? <red>{b}</red> : c} <msg:prefix/> <bold>x</bold>", 0);
+        assertEquals(List.of(
+                new MessageTemplate.Hole(MessageTemplate.HoleType.STYLE, "primary"),
+                new MessageTemplate.Hole(MessageTemplate.HoleType.PLACEHOLDER, "player"),
+                new MessageTemplate.Hole(MessageTemplate.HoleType.OBJECT_PATH, "player.name"),
+                new MessageTemplate.Hole(MessageTemplate.HoleType.CHOICE, "a"),
+                new MessageTemplate.Hole(MessageTemplate.HoleType.TAG, "red"),
+                new MessageTemplate.Hole(MessageTemplate.HoleType.PLACEHOLDER, "b"),
+                new MessageTemplate.Hole(MessageTemplate.HoleType.MESSAGE_REFERENCE, "msg"),
+                new MessageTemplate.Hole(MessageTemplate.HoleType.TAG, "bold")
+        ), template.holes());
+    }
+
+    @Test
+    void templatesFollowTranslationChanges() {
+        Message m = translator.messageBuilder("a").withDefault("<red>first").build();
+        assertRenderEquals(text("first", NamedTextColor.RED), translator.translate(m));
+        assertRenderEquals(text("first", NamedTextColor.RED), translator.translate(m));
+
+        translator.messageBuilder("a").withDefault("<green>second").build();
+        assertRenderEquals(text("second", NamedTextColor.GREEN), translator.translate(translator.getMessage("a")));
+
+        translator.getStyleSet().put("a_style", "<blue>{slot}</blue>");
+        translator.messageBuilder("b").withDefault("<a_style>styled</a_style>").build();
+        translator.loadStyles();
+        assertRenderEquals(text("styled", NamedTextColor.BLUE), translator.translate(translator.getMessage("b")));
+    }
+
+    @Test
+    void argumentFreeTemplates() {
+        translator.getStyleSet().put("static", "<red>{slot}</red>");
+        translator.getStyleSet().put("referencing", "{msg:prefix}{slot}");
+        translator.formatted(TagResolver.resolver("dynamic", Tag.selfClosingInserting(text("x"))));
+
+        Assertions.assertTrue(MessageTemplate.compile(translator, Scope.EMPTY, "<bold>a</bold> <static>b</static>", 0).isArgumentFree());
+        Assertions.assertFalse(MessageTemplate.compile(translator, Scope.EMPTY, "{a}", 0).isArgumentFree());
+        Assertions.assertFalse(MessageTemplate.compile(translator, Scope.EMPTY, "<dynamic/>", 0).isArgumentFree());
+        Assertions.assertFalse(MessageTemplate.compile(translator, Scope.EMPTY, "<msg:prefix/>", 0).isArgumentFree());
+        Assertions.assertFalse(MessageTemplate.compile(translator, Scope.EMPTY, "<referencing>a</referencing>", 0).isArgumentFree());
+    }
+
+    @Test
+    void renderedMessagesFollowStyleChanges() {
+        translator.getStyleSet().put("s", "<red>{slot}</red>");
+        Message m = translator.messageBuilder("a").withDefault("<s>static</s>").build();
+        assertRenderEquals(text("static", NamedTextColor.RED), translator.translate(m));
+        assertRenderEquals(text("static", NamedTextColor.RED), translator.translate(m));
+
+        translator.getStyleSet().put("s", "<blue>{slot}</blue>");
+        assertRenderEquals(text("static", NamedTextColor.BLUE), translator.translate(m));
+
+        translator.getStyleSet().merge("s", MessageStyle.messageStyle("s", "<green>{slot}</green>"), (a, b) -> b);
+        assertRenderEquals(text("static", NamedTextColor.GREEN), translator.translate(m));
+
+        translator.getStyleSet().entrySet().removeIf(e -> e.getKey().equals("s"));
+        translator.getStyleSet().putIfAbsent("s", MessageStyle.messageStyle("s", "<gold>{slot}</gold>"));
+        assertRenderEquals(text("static", NamedTextColor.GOLD), translator.translate(m));
+    }
+
+    @Test
+    void partialEvaluation() {
+        NanoMessage nanoMessage = TinyTranslations.nanoMessage();
+        TinyTranslations.setNanoMessage(NanoMessage.nativeNanoMessage());
+        try {
+            translator.getStyleSet().put("s", "<red>{slot}</red>");
+            translator.formatted(Placeholder.component("prefix", text("[App]")));
+
+            MessageTemplate template = MessageTemplate.compile(translator, Scope.EMPTY, "{prefix} <s>Hello</s> {name}", 0,
+                    TagResolver.resolver(TagResolver.resolver(translator.getResolvers()), StyleTag.resolver(translator)));
+            assertEquals(Set.of("prefix", "s", "red", "slot"), template.folded());
+
+            Message m = translator.messageBuilder("partial").withDefault("{prefix} <s>Hello</s> {name}").build();
+            PlainTextComponentSerializer plain = PlainTextComponentSerializer.plainText();
+            assertEquals("[App] Hello Steve", plain.serialize(translator.translate(m.insertString("name", "Steve"))));
+            assertEquals("[App] Hello Alex", plain.serialize(translator.translate(m.insertString("name", "Alex"))));
+            // placeholders of the translation take precedence over styles, even if the style has been rendered already
+            assertEquals("[App] XHello Alex", plain.serialize(translator.translate(
+                    m.insertString("name", "Alex").insertString("s", "X"))));
+        } finally {
+            TinyTranslations.setNanoMessage(nanoMessage);
+        }
+    }
+
+    @Test
+    void nestedMessages() {
+        Message prefix = translator.messageBuilder("prefix").withDefault("<gray>[App]</gray>").build();
+        Message a = translator.messageBuilder("a").withDefault("{msg:prefix} {msg:prefix} {name}").build();
+        PlainTextComponentSerializer plain = PlainTextComponentSerializer.plainText();
+        assertEquals("[App] [App] Steve", plain.serialize(translator.translate(a.insertObject("name", "Steve"))));
+        Assertions.assertTrue(prefix.insertedObjects().isEmpty());
+    }
+
+    @Test
+    void nestedMessagesDepthLimit() {
+        // messages that are added directly are not checked for loops
+        Message a = translator.messageBuilder("a").withDefault("a{msg:b}").build();
+        translator.messageBuilder("b").withDefault("b{msg:a}").build();
+        String rendered = PlainTextComponentSerializer.plainText().serialize(translator.translate(a));
+        Assertions.assertTrue(rendered.startsWith("abab"), rendered);
+        Assertions.assertTrue(rendered.endsWith("<msg-too-deep:testapp:a/>")
+                || rendered.endsWith("<msg-too-deep:testapp:b/>"), rendered);
+    }
+
+    @Test
+    void translateAsync() throws Exception {
+        Message inner = translator.messageBuilder("inner").withDefault("<red>{name}</red>").build();
+        Message outer = translator.messageBuilder("outer").withDefault("Hello {msg:inner}!").build();
+        PlainTextComponentSerializer plain = PlainTextComponentSerializer.plainText();
+
+        List<CompletableFuture<Component>> futures = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            futures.add(translator.translateAsync(outer.insertObject("name", "player" + i), Locale.ENGLISH));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals("Hello player" + i + "!", plain.serialize(futures.get(i).get(5, TimeUnit.SECONDS)));
+        }
+        // rendering a reference must not change the referenced message
+        Assertions.assertTrue(inner.insertedObjects().isEmpty());
+    }
+
     private record Location(int x, int y, int z) {
     }
 
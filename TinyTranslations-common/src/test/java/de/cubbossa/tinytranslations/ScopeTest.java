@@ -0,0 +1,69 @@
+package de.cubbossa.tinytranslations;
+
+import de.cubbossa.tinytranslations.tinyobject.InsertedObject;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+class ScopeTest extends AbstractTest {
+
+    private static InsertedObject object(String key, Object value) {
+        return new InsertedObject(key, value, List.of());
+    }
+
+    @Test
+    void lastObjectWins() {
+        Scope a = Scope.EMPTY.object(object("x", 1));
+        Scope b = a.object(object("x", 2)).object(object("y", 3));
+
+        Assertions.assertEquals(1, a.object("x").object());
+        Assertions.assertEquals(2, b.object("x").object());
+        Assertions.assertEquals(Map.of("x", b.object("x"), "y", b.object("y")), b.objects());
+        // inserting does not change the previous scope
+        Assertions.assertNull(a.object("y"));
+    }
+
+    @Test
+    void innerScopeTakesPrecedence() {
+        Scope outer = Scope.EMPTY.object(object("x", "outer")).object(object("y", "outer"));
+        Scope inner = Scope.EMPTY.object(object("x", "inner"));
+        Scope scope = inner.within(outer);
+
+        Assertions.assertEquals("inner", scope.object("x").object());
+        Assertions.assertEquals("outer", scope.object("y").object());
+        Assertions.assertEquals(2, scope.objects().size());
+        Assertions.assertSame(inner, inner.within(Scope.EMPTY));
+        Assertions.assertTrue(Scope.EMPTY.objects().isEmpty());
+    }
+
+    @Test
+    void resolversInInsertionOrder() {
+        TagResolver a = Placeholder.parsed("a", "a");
+        TagResolver b = Placeholder.parsed("b", "b");
+        TagResolver c = Placeholder.parsed("c", "c");
+        Scope scope = Scope.EMPTY.resolvers(a).within(Scope.EMPTY.resolvers(b)).resolvers(c);
+
+        Assertions.assertEquals(List.of(a, b, c), scope.resolvers());
+        Assertions.assertFalse(scope.hasObjects());
+        Assertions.assertTrue(scope.hasResolvers());
+    }
+
+    @Test
+    void objectsOfParentTranslators() {
+        MessageTranslator child = translator.fork("child");
+        translator.insertObject("name", "parent");
+        Message message = child.messageBuilder("greeting").withDefault("Hello {name}").build();
+
+        PlainTextComponentSerializer plain = PlainTextComponentSerializer.plainText();
+        Assertions.assertEquals("Hello parent", plain.serialize(child.translate(message)));
+        Assertions.assertEquals("Hello message", plain.serialize(child.translate(message.insertObject("name", "message"))));
+        child.insertObject("name", "child");
+        Assertions.assertEquals("Hello child", plain.serialize(child.translate(message)));
+        Assertions.assertEquals("parent", translator.insertedObjects().get("name").object());
+    }
+}
@@ -0,0 +1,101 @@
+package de.cubbossa.tinytranslations;
+
+import de.cubbossa.tinytranslations.storage.properties.PropertiesMessageStorage;
+import de.cubbossa.tinytranslations.storage.properties.PropertiesStyleStorage;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static net.kyori.adventure.text.Component.text;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StorageWatcherTest extends AbstractTest {
+
+    @Test
+    void reloadChangedLocaleFile() throws Exception {
+        File lang = new File(dir, "lang");
+        translator.setMessageStorage(new PropertiesMessageStorage(lang));
+        Message a = translator.messageBuilder("a").withDefault("Hello").build();
+        translator.saveLocale(Locale.ENGLISH);
+
+        BlockingQueue<ReloadReport> reports = new LinkedBlockingQueue<>();
+        try (StorageWatcher watcher = StorageWatcher.watch(translator, Duration.ofMinutes(1), reports::add)) {
+            File file = new File(lang, "en.properties");
+            replaceInFile(file, "Hello", "Hi");
+            watcher.reload(List.of(file.toPath()));
+
+            ReloadReport report = reports.poll();
+            Assertions.assertNotNull(report);
+            assertEquals(Set.of(Locale.ENGLISH), report.locales());
+            assertEquals(Set.of(a.getKey()), report.changed());
+        }
+        assertRenderEquals(text("Hi"), translator.translate(a));
+    }
+
+    @Test
+    void reloadOnFileEvents() throws Exception {
+        File lang = new File(dir, "lang");
+        translator.setMessageStorage(new PropertiesMessageStorage(lang));
+        Message a = translator.messageBuilder("a").withDefault("Hello").build();
+        translator.saveLocale(Locale.ENGLISH);
+
+        BlockingQueue<ReloadReport> reports = new LinkedBlockingQueue<>();
+        try (StorageWatcher ignored = StorageWatcher.watch(translator, Duration.ofMillis(50), reports::add)) {
+            replaceInFile(new File(lang, "en.properties"), "Hello", "Hi");
+            // file events can be slow on some platforms, the timeout only fails the test if they never arrive
+            ReloadReport report;
+            do {
+                report = reports.poll(60, TimeUnit.SECONDS);
+                Assertions.assertNotNull(report, "File change has not been reloaded.");
+            } while (report.isEmpty());
+        }
+        assertRenderEquals(text("Hi"), translator.translate(a));
+    }
+
+    @Test
+    void validateChangedMessagesAndDependents() throws Exception {
+        File lang = new File(dir, "lang");
+        translator.setMessageStorage(new PropertiesMessageStorage(lang));
+        Message a = translator.messageBuilder("a").withDefault("A").build();
+        Message b = translator.messageBuilder("b").withDefault("B {msg:a}").build();
+        Message c = translator.messageBuilder("c").withDefault("C").build();
+        translator.saveLocale(Locale.ENGLISH);
+
+        BlockingQueue<ReloadReport> reports = new LinkedBlockingQueue<>();
+        try (StorageWatcher watcher = StorageWatcher.watch(translator, Duration.ofMinutes(1), reports::add)) {
+            File file = new File(lang, "en.properties");
+            replaceInFile(file, "(?m)^a = A$", "a = A {msg:b}");
+            watcher.reload(List.of(file.toPath()));
+
+            ReloadReport report = reports.poll();
+            Assertions.assertNotNull(report);
+            assertEquals(Set.of(a.getKey(), b.getKey()), report.removed());
+            Assertions.assertNull(translator.getMessage(a.getKey()).dictionary().get(Locale.ENGLISH));
+            Assertions.assertNull(translator.getMessage(b.getKey()).dictionary().get(Locale.ENGLISH));
+            assertEquals("C", translator.getMessage(c.getKey()).dictionary().get(Locale.ENGLISH));
+        }
+    }
+
+    @Test
+    void reloadChangedStyleFile() throws Exception {
+        File styles = new File(dir, "styles/styles.properties");
+        translator.setStyleStorage(new PropertiesStyleStorage(styles));
+        translator.getStyleSet().put("x", "<red>{slot}</red>");
+        translator.saveStyles();
+
+        try (StorageWatcher watcher = StorageWatcher.watch(translator, Duration.ofMinutes(1))) {
+            replaceInFile(styles, "red", "blue");
+            watcher.reload(List.of(styles.toPath()));
+        }
+        assertRenderEquals(text("a", NamedTextColor.BLUE), translator.translate("<x>a</x>"));
+    }
+}
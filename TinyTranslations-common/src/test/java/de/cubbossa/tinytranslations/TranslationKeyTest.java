@@ -0,0 +1,40 @@
+package de.cubbossa.tinytranslations;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TranslationKeyTest extends AbstractTest {
+
+    @Test
+    void interned() {
+        TranslationKey key = TranslationKey.of("a", "help.header");
+        Assertions.assertSame(key, TranslationKey.of("a", "help.header"));
+        Assertions.assertSame(key.asTranslationKey(), key.asTranslationKey());
+        Assertions.assertEquals("a.help.header", key.asTranslationKey());
+        Assertions.assertEquals("a:help.header", key.asNamespacedKey());
+        Assertions.assertSame(TranslationKey.of("help.header"), TranslationKey.of(null, "help.header"));
+    }
+
+    @Test
+    void namespaceIsPartOfEquality() {
+        TranslationKey a = TranslationKey.of("a", "prefix");
+        TranslationKey b = TranslationKey.of("b", "prefix");
+        Assertions.assertNotEquals(a, b);
+        Assertions.assertNotEquals(a.hashCode(), b.hashCode());
+        Assertions.assertNotEquals(a, TranslationKey.of("prefix"));
+    }
+
+    @Test
+    void keysWithoutNamespaceBelongToTranslator() {
+        Message message = translator.messageBuilder("prefix").withDefault("Prefix").build();
+        Assertions.assertSame(message, translator.getMessage(TranslationKey.of("prefix")));
+        Assertions.assertSame(message, translator.getMessage("prefix"));
+        Assertions.assertSame(message, translator.getMessage("testapp.prefix"));
+        Assertions.assertNull(translator.getMessage("unknown.key"));
+        Assertions.assertNull(TranslationKeyImpl.find(translator.getPath(), "unknown.key"));
+
+        translator.getMessageSet().remove(TranslationKey.of("prefix"));
+        Assertions.assertNull(translator.getMessage(message.getKey()));
+        Assertions.assertEquals("Prefix", message.dictionary().get(TinyTranslations.FALLBACK_DEFAULT_LOCALE));
+    }
+}
@@ -0,0 +1,99 @@
+package de.cubbossa.tinytranslations.nanomessage;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.kyori.adventure.text.Component.text;
+
+class IndexedTagResolverTest {
+
+    MiniMessage miniMessage = MiniMessage.miniMessage();
+
+    @Test
+    void firstResolverWins() {
+        TagResolver opaque = TagResolver.resolver("a", (queue, ctx) -> Tag.selfClosingInserting(text("opaque")));
+        TagResolver placeholder = Placeholder.component("a", text("placeholder"));
+
+        Assertions.assertEquals(text("opaque"), miniMessage.deserialize("<a/>", IndexedTagResolver.resolver(opaque, placeholder)));
+        Assertions.assertEquals(text("placeholder"), miniMessage.deserialize("<a/>", IndexedTagResolver.resolver(placeholder, opaque)));
+        Assertions.assertEquals(text("first"), miniMessage.deserialize("<a/>", IndexedTagResolver.resolver(
+                Placeholder.component("a", text("first")),
+                Placeholder.component("a", text("second"))
+        )));
+    }
+
+    @Test
+    void namedResolvers() {
+        IndexedTagResolver resolver = IndexedTagResolver.builder()
+                .resolver("b", Placeholder.component("b", text("b")))
+                .resolver(Placeholder.component("c", text("c")))
+                .build();
+
+        Assertions.assertTrue(resolver.has("b"));
+        Assertions.assertTrue(resolver.has("c"));
+        Assertions.assertFalse(resolver.has("d"));
+        Assertions.assertEquals("bc", PlainTextComponentSerializer.plainText().serialize(miniMessage.deserialize("<b/><c/>", resolver)));
+    }
+
+    @Test
+    void lookupsOfUnnamedResolversAreCached() {
+        AtomicInteger calls = new AtomicInteger();
+        TagResolver counting = new TagResolver() {
+            @Override
+            public @Nullable Tag resolve(@NotNull String name, @NotNull ArgumentQueue arguments, @NotNull Context ctx) {
+                return has(name) ? Tag.selfClosingInserting(text("x")) : null;
+            }
+
+            @Override
+            public boolean has(@NotNull String name) {
+                calls.incrementAndGet();
+                return name.equals("x");
+            }
+        };
+        IndexedTagResolver resolver = IndexedTagResolver.resolver(counting);
+
+        Assertions.assertTrue(resolver.has("x"));
+        Assertions.assertTrue(resolver.has("x"));
+        Assertions.assertFalse(resolver.has("y"));
+        Assertions.assertFalse(resolver.has("y"));
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    void dynamicResolversFollowChanges() {
+        Map<String, Component> table = new HashMap<>();
+        IndexedTagResolver.Dynamic dynamic = new IndexedTagResolver.Dynamic() {
+            @Override
+            public @Nullable Tag resolve(@NotNull String name, @NotNull ArgumentQueue arguments, @NotNull Context ctx) {
+                Component component = table.get(name);
+                return component == null ? null : Tag.selfClosingInserting(component);
+            }
+
+            @Override
+            public boolean has(@NotNull String name) {
+                return table.containsKey(name);
+            }
+        };
+        IndexedTagResolver resolver = IndexedTagResolver.resolver(dynamic, Placeholder.component("a", text("static")));
+
+        Assertions.assertEquals(text("static"), miniMessage.deserialize("<a/>", resolver));
+        table.put("a", text("dynamic"));
+        Assertions.assertEquals(text("dynamic"), miniMessage.deserialize("<a/>", resolver));
+        table.remove("a");
+        Assertions.assertEquals(text("static"), miniMessage.deserialize("<a/>", resolver));
+    }
+}
@@ -32,6 +32,36 @@ public class NanoMessageCompilerTest {
         }
     }
 
+    @Test
+    void backtrackingKeepsTree() {
+
+        StringPair[] strings = {
+                new StringPair("<pre>", "<pre>"),
+                new StringPair("<pre>abc", "<pre:'abc'/>"),
+                new StringPair("<pre>a<b>c</pre>d", "<pre:'a<b>c'/>d"),
+                new StringPair("{a:b", "{a:b"),
+                new StringPair("{a?b:c", "{a?b:c"),
+                new StringPair("<a:b/ {c}", "<a:b/ <c>"),
+        };
+
+        NanoMessageCompiler compiler = new NanoMessageCompiler();
+        for (StringPair string : strings) {
+            Assertions.assertEquals(
+                    string.after,
+                    compiler.compile(string.before),
+                    string.before
+            );
+        }
+    }
+
+    @Test
+    void compileRepeatedSegments() {
+        String segment = "<red>Hello {player}, you have {a ? b : c} coins.</red> ";
+        String compiled = "<red>Hello <player>, you have <choice:'<a>':'b':'c'> coins.</red> ";
+        NanoMessageCompiler compiler = new NanoMessageCompiler();
+        Assertions.assertEquals(compiled.repeat(3), compiler.compile(segment.repeat(3)));
+    }
+
     private record StringPair(String before, String after) {
     }
 }
@@ -1,8 +1,15 @@
 package de.cubbossa.tinytranslations.nanomessage;
 
+import de.cubbossa.tinytranslations.util.compiler.SimpleStringParser;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.Random;
+
+import static de.cubbossa.tinytranslations.nanomessage.NanoMessageParser.*;
+import static de.cubbossa.tinytranslations.nanomessage.NanoMessageTokenizer.*;
+
 class NanoMessageParserTest {
 
     @Test
@@ -111,4 +118,253 @@ class NanoMessageParserTest {
             );
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void parseUnclosedTagsInLinearTime() {
+        assertParsesQuickly("<tag>".repeat(1000));
+        assertParsesQuickly("<tag".repeat(1000));
+        assertParsesQuickly("<tag:a".repeat(1000) + ">");
+        assertParsesQuickly("<tag/".repeat(1000));
+        assertParsesQuickly("<pre>" + "<a>".repeat(1000));
+    }
+
+    @Test
+    void parseNestedChoicesInLinearTime() {
+        assertParsesQuickly("{a?".repeat(1000));
+        assertParsesQuickly("{a?".repeat(1000) + "b" + "}".repeat(1000));
+        assertParsesQuickly("{a?".repeat(1000) + "b}");
+        assertParsesQuickly("{a?b:".repeat(1000) + "c}");
+        assertParsesQuickly("{a:".repeat(1000));
+        assertParsesQuickly("{a:'b".repeat(1000));
+    }
+
+    @Test
+    void parseOutermostTagNestedTooDeepAsText() {
+        String input = "<a>".repeat(MAX_NESTING + 1);
+        var contents = parse(input).getChildren().get(0);
+        Assertions.assertEquals(TEXT_ELEMENT, contents.getChildren().get(0).getType());
+        var node = contents.getChildren().get(3);
+        for (int i = 1; i < MAX_NESTING; i++) {
+            Assertions.assertEquals(CONTENT_TAG, node.getType());
+            node = node.getChildren().get(1).getChildren().get(0);
+        }
+        Assertions.assertEquals(CONTENT_TAG, node.getType());
+        Assertions.assertEquals(input, contents.getText());
+    }
+
+    @Test
+    void parseNestedChoices() {
+        var root = parse("{a?{b?{c?x:y}:z}:w}");
+        var choice = root.getChildren().get(0).getChildren().get(0);
+        Assertions.assertEquals(CHOICE_PLACEHOLDER, choice.getType());
+        Assertions.assertEquals("{a?{b?{c?x:y}:z}:w}", choice.getText());
+    }
+
+    @Test
+    void parseTagsAfterChoiceNestedTooDeep() {
+        // the choice fails, but only after it parsed the tags one level deeper, where they exceeded the limit
+        String input = "{a?" + "<a>".repeat(MAX_NESTING) + "x" + "</a>".repeat(MAX_NESTING) + "{b}";
+        var node = parse(input).getChildren().get(0).getChildren().get(3);
+        for (int i = 0; i < MAX_NESTING; i++) {
+            Assertions.assertEquals(CONTENT_TAG, node.getType());
+            node = node.getChildren().get(1).getChildren().get(0);
+        }
+        Assertions.assertEquals(TEXT_ELEMENT, node.getType());
+    }
+
+    @Test
+    void keepsTextOfRandomInput() {
+        String alphabet = "\\<>/{}:'\"? abc#.";
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int j = 0; j < length; j++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String input = builder.toString();
+            Assertions.assertEquals(input, parse(input).getText());
+        }
+    }
+
+    @Test
+    void parseSamples() {
+        assertTree("<a :  b :    c< />", """
+                CONTENTS [<a :  b :    c< />]
+                 SELF_CLOSING_TAG [<a :  b :    c< />]
+                  KEY [a]
+                  ATTRIBUTES [ :  b :    c< ]
+                   ATTRIBUTE [b]
+                   ATTRIBUTE [c<]
+                """);
+        assertTree("{ a : b b : c }", """
+                CONTENTS [{ a : b b : c }]
+                 PLACEHOLDER [{ a : b b : c }]
+                  KEY [a]
+                  ATTRIBUTES [ : b b : c ]
+                   ATTRIBUTE [b b]
+                   ATTRIBUTE [c]
+                """);
+        assertTree("{ a ? <red>b</red> : <c>c</c> }", """
+                CONTENTS [{ a ? <red>b</red> : <c>c</c> }]
+                 CHOICE_PLACEHOLDER [{ a ? <red>b</red> : <c>c</c> }]
+                  KEY [a]
+                  ATTRIBUTES [ ]
+                  CHOICE_OPTION [<red>b</red> ]
+                   CONTENTS [<red>b</red> ]
+                    CONTENT_TAG [<red>b</red>]
+                     OPEN_TAG [<red>]
+                      KEY [red]
+                      ATTRIBUTES []
+                     CONTENTS [b]
+                      TEXT_ELEMENT [b]
+                     CLOSE_TAG [</red>]
+                      KEY [red]
+                    TEXT_ELEMENT [ ]
+                  CHOICE_OPTION [<c>c</c> ]
+                   CONTENTS [<c>c</c> ]
+                    CONTENT_TAG [<c>c</c>]
+                     OPEN_TAG [<c>]
+                      KEY [c]
+                      ATTRIBUTES []
+                     CONTENTS [c]
+                      TEXT_ELEMENT [c]
+                     CLOSE_TAG [</c>]
+                      KEY [c]
+                    TEXT_ELEMENT [ ]
+                """);
+        assertTree("<pre><red>a</pre></red>", """
+                CONTENTS [<pre><red>a</pre></red>]
+                 CONTENT_TAG [<pre><red>a</pre>]
+                  OPEN_TAG [<pre>]
+                   KEY [pre]
+                   ATTRIBUTES []
+                  TEXT_ELEMENT [<red>a]
+                  CLOSE_TAG [</pre>]
+                   KEY [pre]
+                 TEXT_ELEMENT [<]
+                 TEXT_ELEMENT [/]
+                 TEXT_ELEMENT [red]
+                 TEXT_ELEMENT [>]
+                """);
+        assertTree("<red>a<blue>b</red>c</blue>", """
+                CONTENTS [<red>a<blue>b</red>c</blue>]
+                 CONTENT_TAG [<red>a<blue>b</red>c</blue>]
+                  OPEN_TAG [<red>]
+                   KEY [red]
+                   ATTRIBUTES []
+                  CONTENTS [a<blue>b</red>c</blue>]
+                   TEXT_ELEMENT [a]
+                   CONTENT_TAG [<blue>b</red>c</blue>]
+                    OPEN_TAG [<blue>]
+                     KEY [blue]
+                     ATTRIBUTES []
+                    CONTENTS [b</red>c]
+                     TEXT_ELEMENT [b]
+                     TEXT_ELEMENT [<]
+                     TEXT_ELEMENT [/]
+                     TEXT_ELEMENT [red]
+                     TEXT_ELEMENT [>]
+                     TEXT_ELEMENT [c]
+                    CLOSE_TAG [</blue>]
+                     KEY [blue]
+                """);
+        assertTree("{a?'b:c}", """
+                CONTENTS [{a?'b:c}]
+                 CHOICE_PLACEHOLDER [{a?'b:c}]
+                  KEY [a]
+                  ATTRIBUTES []
+                  CHOICE_OPTION ['b]
+                   CONTENTS ['b]
+                    TEXT_ELEMENT [']
+                    TEXT_ELEMENT [b]
+                  CHOICE_OPTION [c]
+                   CONTENTS [c]
+                    TEXT_ELEMENT [c]
+                """);
+        assertTree("<a:'b/>'/>", """
+                CONTENTS [<a:'b/>'/>]
+                 SELF_CLOSING_TAG [<a:'b/>'/>]
+                  KEY [a]
+                  ATTRIBUTES [:'b/>']
+                   ATTRIBUTE ['b/>']
+                    TEXT_ELEMENT ['b/>']
+                """);
+        assertTree("{a?{b?c}:{d}", """
+                CONTENTS [{a?{b?c}:{d}]
+                 TEXT_ELEMENT [{]
+                 TEXT_ELEMENT [a]
+                 TEXT_ELEMENT [?]
+                 CHOICE_PLACEHOLDER [{b?c}]
+                  KEY [b]
+                  ATTRIBUTES []
+                  CHOICE_OPTION [c]
+                   CONTENTS [c]
+                    TEXT_ELEMENT [c]
+                 TEXT_ELEMENT [:]
+                 PLACEHOLDER [{d}]
+                  KEY [d]
+                  ATTRIBUTES []
+                """);
+        assertTree("{a?{b?{c?d}:e", """
+                CONTENTS [{a?{b?{c?d}:e]
+                 TEXT_ELEMENT [{]
+                 TEXT_ELEMENT [a]
+                 TEXT_ELEMENT [?]
+                 TEXT_ELEMENT [{]
+                 TEXT_ELEMENT [b]
+                 TEXT_ELEMENT [?]
+                 CHOICE_PLACEHOLDER [{c?d}]
+                  KEY [c]
+                  ATTRIBUTES []
+                  CHOICE_OPTION [d]
+                   CONTENTS [d]
+                    TEXT_ELEMENT [d]
+                 TEXT_ELEMENT [:]
+                 TEXT_ELEMENT [e]
+                """);
+        assertTree("<a", """
+                CONTENTS [<a]
+                 TEXT_ELEMENT [<]
+                 TEXT_ELEMENT [a]
+                """);
+        assertTree("<a></", """
+                CONTENTS [<a></]
+                 CONTENT_TAG [<a></]
+                  OPEN_TAG [<a>]
+                   KEY [a]
+                   ATTRIBUTES []
+                  CONTENTS [</]
+                   TEXT_ELEMENT [<]
+                   TEXT_ELEMENT [/]
+                """);
+    }
+
+    private void assertParsesQuickly(String input) {
+        var tokens = new NanoMessageTokenizer().tokenize(input);
+        var root = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(2), () -> new NanoMessageParser(tokens).parse());
+        Assertions.assertEquals(input, root.getText());
+    }
+
+    private SimpleStringParser<Token, TokenValue, String>.Node parse(String input) {
+        return new NanoMessageParser(new NanoMessageTokenizer().tokenize(input)).parse();
+    }
+
+    private void assertTree(String input, String expected) {
+        Assertions.assertEquals(expected, dump(parse(input).getChildren().get(0)), input);
+    }
+
+    private String dump(SimpleStringParser<Token, TokenValue, String>.Node node) {
+        StringBuilder builder = new StringBuilder();
+        dump(node, builder, 0);
+        return builder.toString();
+    }
+
+    private void dump(SimpleStringParser<Token, TokenValue, String>.Node node, StringBuilder builder, int indent) {
+        builder.append(" ".repeat(indent)).append(node.getType())
+                .append(" [").append(node.getText()).append("]\n");
+        for (var child : node.getChildren()) {
+            dump(child, builder, indent + 1);
+        }
+    }
+}
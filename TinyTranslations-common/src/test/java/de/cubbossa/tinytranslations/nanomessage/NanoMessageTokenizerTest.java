@@ -3,12 +3,32 @@ package de.cubbossa.tinytranslations.nanomessage;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
 
 import static de.cubbossa.tinytranslations.nanomessage.NanoMessageTokenizer.*;
 
 class NanoMessageTokenizerTest {
 
+    private static final String[] SAMPLES = {
+            "",
+            "?abc",
+            "Hello World!",
+            "{a : b : c}",
+            "{ a ?  b :  c }",
+            "<a :    b:c   ></a>",
+            "<hover:show_text:'<red>Click me'>text</hover>",
+            "{ a.b.c ? '<a>' : b :  c }",
+            "\\<red>escaped\\\\ and \\{ph\\}",
+            "trailing escape \\",
+            "tabs\tand  spaces \t mixed",
+            "multi\nline\n\ntext",
+            "umlauts äöü and emoji \uD83D\uDE00 and #ff00ff_1,2.3-4",
+            "<msg:\"a.b\"/> {el:'#.##'} </>",
+    };
+
     @Test
     void tokenize() {
         Assertions.assertEquals(
@@ -16,4 +36,106 @@ class NanoMessageTokenizerTest {
                 new NanoMessageTokenizer().tokenize("?abc")
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void tokensReferenceSource() {
+        String input = "<red>abc</red>";
+        List<TokenValue> tokens = new NanoMessageTokenizer().tokenize(input);
+        int offset = 0;
+        for (TokenValue token : tokens) {
+            Assertions.assertSame(input, token.source());
+            Assertions.assertEquals(offset, token.start());
+            offset = token.end();
+        }
+        Assertions.assertEquals(input.length(), offset);
+    }
+
+    @Test
+    void equivalentToRegexTokenizerOnSamples() {
+        for (String sample : SAMPLES) {
+            assertEquivalent(sample);
+        }
+    }
+
+    @Test
+    void equivalentToRegexTokenizerOnRandomInput() {
+        String alphabet = "\\<>/{}:'\"? \tabcXYZ019#._,-!ä\n";
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int j = 0; j < length; j++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            assertEquivalent(builder.toString());
+        }
+    }
+
+    @Test
+    void customTokenList() {
+        NanoMessageTokenizer tokenizer = new NanoMessageTokenizer(List.of(ESC, PH_OPEN, PH_CLOSE, WS, LIT, MISC));
+        Assertions.assertEquals(
+                List.of(new TokenValue(PH_OPEN, "{"), new TokenValue(LIT, "a"), new TokenValue(MISC, "<"),
+                        new TokenValue(PH_CLOSE, "}")),
+                tokenizer.tokenize("{a<}")
+        );
+    }
+
+    @Test
+    void carriageReturnIsMisc() {
+        Assertions.assertEquals(
+                List.of(new TokenValue(LIT, "a"), new TokenValue(MISC, "\r"), new TokenValue(MISC, "\n")),
+                new NanoMessageTokenizer().tokenize("a\r\n")
+        );
+    }
+
+    private void assertEquivalent(String input) {
+        List<TokenValue> expected = regexTokenize(input);
+        List<TokenValue> actual = new NanoMessageTokenizer().tokenize(input);
+        Assertions.assertEquals(expected.size(), actual.size(), input);
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertEquals(expected.get(i).type(), actual.get(i).type(), input);
+            Assertions.assertEquals(expected.get(i).text(), actual.get(i).text(), input);
+        }
+    }
+
+    /**
+     * The tokenizer implementation before the single pass scanner, kept as reference.
+     */
+    private List<TokenValue> regexTokenize(String s) {
+        List<TokenValue> values = new ArrayList<>();
+        boolean escaped = false;
+        int offset = 0;
+        while (offset < s.length()) {
+            if (!escaped) {
+                for (Token token : TOKENS) {
+                    String content;
+                    if (token.getPattern() == null) {
+                        if (!s.startsWith(token.getText(), offset)) {
+                            continue;
+                        }
+                        offset += token.getText().length();
+                        content = token.getText();
+                    } else {
+                        Matcher m = token.getPattern().matcher(s.substring(offset));
+                        if (!m.find()) {
+                            continue;
+                        }
+                        offset += m.end();
+                        content = m.group();
+                    }
+                    values.add(new TokenValue(token, content));
+                    if (token.equals(ESC)) {
+                        escaped = true;
+                    }
+                    break;
+                }
+            } else {
+                values.add(new TokenValue(MISC, s.substring(offset, offset + 1)));
+                escaped = false;
+                offset++;
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,246 @@
+package de.cubbossa.tinytranslations.nanomessage;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.flattener.ComponentFlattener;
+import net.kyori.adventure.text.flattener.FlattenerListener;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.tag.Modifying;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.Formatter;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class NativeNanoMessageTest {
+
+    private static final TagResolver[] RESOLVERS = {
+            Placeholder.component("player", Component.text("Steve", NamedTextColor.GOLD)),
+            Placeholder.unparsed("raw", "<red>not parsed"),
+            Placeholder.parsed("parsed", "<green>parsed</green>"),
+            Formatter.number("amount", 1234.5),
+            TagResolver.resolver("wrap", Tag.styling(NamedTextColor.AQUA)),
+            TagResolver.resolver("hl", (Modifying) (current, depth) -> depth == 0
+                    ? current.color(NamedTextColor.YELLOW)
+                    : Component.empty()),
+    };
+
+    private static final String[] MESSAGES = {
+            "",
+            "Hello World",
+            "<red>Hello</red> World",
+            "<red>Hello <bold>World</bold>",
+            "<red>unclosed",
+            "{player} joined the game",
+            "<gray>Welcome {player}!</gray>",
+            "{ player } with spaces",
+            "{raw}",
+            "{parsed} after",
+            "{amount} coins",
+            "<wrap>aqua {player}</wrap> after",
+            "{wrap}rest is aqua",
+            "<hl>highlight <red>red</red></hl> after",
+            "{a ? yes : no}",
+            "{success ? <green>yes : <red>no} rest",
+            "{amount ? 'one' : 'two' : many}",
+            "<hover:show_text:'<red>tooltip'>hover me</hover>",
+            "<click:run_command:/help>click</click>",
+            "<#ff00ff>hex</#ff00ff>",
+            "<gradient:red:blue>gradient</gradient>",
+            "<upper>upper {player}</upper>",
+            "<repeat:2>ab</repeat>",
+            "<reverse>abc</reverse>",
+            "<shorten:5>long text here</shorten>",
+            "\\<red> escaped",
+            "<pre><red>not parsed</pre>",
+            "a < b > c",
+            "{missing} tag",
+            "<missing>content</missing>",
+            "<msg:'a.b'/>",
+            "{ a.b.c }",
+    };
+
+    @Test
+    void compatibleWithMiniMessageImplementation() {
+        NanoMessage reference = NanoMessage.nanoMessage();
+        NanoMessage nativeNm = NanoMessage.nativeNanoMessage();
+        for (String message : MESSAGES) {
+            for (int i = 0; i < 2; i++) {
+                Assertions.assertEquals(
+                        flatten(reference.deserialize(message, RESOLVERS)),
+                        flatten(nativeNm.deserialize(message, RESOLVERS)),
+                        message
+                );
+            }
+        }
+    }
+
+    @Test
+    void compiledTemplatesRenderLikeDeserialization() {
+        NanoMessage reference = NanoMessage.nanoMessage();
+        for (String message : MESSAGES) {
+            NanoTemplate template = reference.compile(message);
+            Assertions.assertEquals(TemplateHoles.collect(message), template.holes(), message);
+            for (int i = 0; i < 2; i++) {
+                Assertions.assertEquals(
+                        flatten(reference.deserialize(message, RESOLVERS)),
+                        flatten(template.render(RESOLVERS)),
+                        message
+                );
+            }
+        }
+    }
+
+    @Test
+    void passedResolversShadowDefaultResolvers() {
+        TagResolver[] resolvers = {
+                Placeholder.unparsed("upper", "first"),
+                Placeholder.unparsed("upper", "placeholder"),
+                Placeholder.component("click", Component.text("clicked", NamedTextColor.GREEN)),
+        };
+        List<Run> expected = List.of(
+                new Run(Style.empty(), "placeholder "),
+                new Run(Style.style(NamedTextColor.GREEN), "clicked")
+        );
+        for (NanoMessage nm : List.of(NanoMessage.nanoMessage(), NanoMessage.nativeNanoMessage())) {
+            Assertions.assertEquals(expected, flatten(nm.deserialize("{upper} <click/>", resolvers)));
+        }
+    }
+
+    @Test
+    void rendersSimpleMessagesNatively() {
+        NativeNanoMessage nativeNm = (NativeNanoMessage) NanoMessage.nativeNanoMessage();
+        nativeNm.deserialize("Hello World", RESOLVERS);
+        nativeNm.deserialize("<red>Hello</red> World", RESOLVERS);
+        nativeNm.deserialize("<gray>Welcome {player}!</gray>", RESOLVERS);
+        nativeNm.deserialize("<hl>highlight <red>red</red></hl>", RESOLVERS);
+        Assertions.assertEquals(4, nativeNm.nativeRenders.sum());
+        Assertions.assertEquals(0, nativeNm.fallbackRenders.sum());
+
+        nativeNm.deserialize("\\<red> escaped", RESOLVERS);
+        Assertions.assertEquals(1, nativeNm.fallbackRenders.sum());
+    }
+
+    @Test
+    void failedRendersFallBackWithoutChangingTheTemplate() {
+        NativeNanoMessage nativeNm = (NativeNanoMessage) NanoMessage.nativeNanoMessage();
+        AtomicInteger lookups = new AtomicInteger();
+        TagResolver counted = TagResolver.resolver("counted", (queue, ctx) -> {
+            lookups.incrementAndGet();
+            return Tag.selfClosingInserting(Component.text("counted"));
+        });
+        // resolves to nothing, so that the tag can't be applied natively
+        TagResolver unresolved = new TagResolver() {
+            @Override
+            public Tag resolve(@NotNull String name, @NotNull ArgumentQueue arguments, @NotNull Context ctx) {
+                return null;
+            }
+
+            @Override
+            public boolean has(@NotNull String name) {
+                return name.equals("unknown");
+            }
+        };
+        NanoTemplate template = nativeNm.compile("<counted/> <unknown>");
+        Assertions.assertEquals(
+                flatten(NanoMessage.nanoMessage().deserialize("<counted/> <unknown>", counted, unresolved)),
+                flatten(template.render(counted, unresolved))
+        );
+        // tags that have been resolved before the native render failed are reused by the fallback
+        Assertions.assertEquals(1, lookups.get());
+        Assertions.assertEquals(1, nativeNm.fallbackRenders.sum());
+
+        template.render(counted, TagResolver.resolver("unknown", Tag.selfClosingInserting(Component.text("known"))));
+        Assertions.assertEquals(1, nativeNm.nativeRenders.sum());
+        Assertions.assertTrue(template.isPartiallyEvaluable());
+    }
+
+    @Test
+    void onlyNativeTemplatesArePartiallyEvaluable() {
+        Assertions.assertTrue(NanoMessage.nativeNanoMessage().compile("<red>{name}</red>").isPartiallyEvaluable());
+        Assertions.assertFalse(NanoMessage.nativeNanoMessage().compile("\\<red> escaped").isPartiallyEvaluable());
+        Assertions.assertFalse(NanoMessage.nanoMessage().compile("<red>{name}</red>").isPartiallyEvaluable());
+    }
+
+    @Test
+    void partialEvaluationRendersLikeFullEvaluation() {
+        NanoMessage nativeNm = NanoMessage.nativeNanoMessage();
+        // wrap, hl and the standard tags are known in advance, all other resolvers are provided per render
+        TagResolver known = TagResolver.resolver(RESOLVERS[4], RESOLVERS[5]);
+        for (String message : MESSAGES) {
+            NanoTemplate template = nativeNm.compile(message);
+            NanoTemplate residual = template.partial(known, name -> false);
+            Assertions.assertEquals(
+                    flatten(template.render(RESOLVERS)),
+                    flatten(residual.render(RESOLVERS)),
+                    message
+            );
+        }
+    }
+
+    @Test
+    void partialEvaluationFoldsKnownTags() {
+        NanoMessage nativeNm = NanoMessage.nativeNanoMessage();
+        TagResolver known = TagResolver.resolver(RESOLVERS[4], RESOLVERS[5]);
+
+        NanoTemplate residual = nativeNm.compile("<red>Hello</red> <wrap>{player}</wrap> <hl>x</hl>")
+                .partial(known, name -> false);
+        Assertions.assertEquals(Set.of("red", "hl"), residual.folded());
+
+        residual = nativeNm.compile("<red>Hello</red> <hl>x</hl>").partial(known, "hl"::equals);
+        Assertions.assertEquals(Set.of("red"), residual.folded());
+
+        NanoTemplate template = nativeNm.compile("{player} joined");
+        Assertions.assertSame(template, template.partial(known, name -> false));
+    }
+
+    /**
+     * Flattens a component into runs of text with their effective style, so that structurally different but
+     * visually equal components compare equal.
+     */
+    private static List<Run> flatten(Component component) {
+        List<Run> runs = new ArrayList<>();
+        Deque<Style> styles = new ArrayDeque<>();
+        styles.push(Style.empty());
+        ComponentFlattener.basic().flatten(component, new FlattenerListener() {
+            @Override
+            public void pushStyle(@NotNull Style style) {
+                styles.push(styles.peek().merge(style));
+            }
+
+            @Override
+            public void component(@NotNull String text) {
+                if (text.isEmpty()) {
+                    return;
+                }
+                Style style = styles.peek();
+                if (!runs.isEmpty() && runs.get(runs.size() - 1).style().equals(style)) {
+                    Run last = runs.remove(runs.size() - 1);
+                    runs.add(new Run(style, last.text() + text));
+                } else {
+                    runs.add(new Run(style, text));
+                }
+            }
+
+            @Override
+            public void popStyle(@NotNull Style style) {
+                styles.pop();
+            }
+        });
+        return runs;
+    }
+
+    private record Run(Style style, String text) {
+    }
+}
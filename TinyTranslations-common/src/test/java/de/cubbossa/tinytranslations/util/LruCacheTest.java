@@ -0,0 +1,78 @@
+package de.cubbossa.tinytranslations.util;
+
+import de.cubbossa.tinytranslations.nanomessage.compiler.CachingNanoMessageCompiler;
+import de.cubbossa.tinytranslations.nanomessage.compiler.NanoMessageCompiler;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LruCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        LruCache<String, String> cache = new LruCache<>(1);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        assertNull(cache.get("a"));
+        assertEquals("B", cache.get("b"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        LruCache<String, String> cache = new LruCache<>(16);
+        AtomicInteger computations = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("A", cache.computeIfAbsent("a", k -> {
+                computations.incrementAndGet();
+                return "A";
+            }));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(1, cache.misses());
+        assertEquals(2, cache.hits());
+    }
+
+    @Test
+    void shrinkCapacity() {
+        LruCache<Integer, Integer> cache = new LruCache<>(64);
+        for (int i = 0; i < 64; i++) {
+            cache.put(i, i);
+        }
+        cache.setCapacity(16);
+        assertEquals(16, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> cache.setCapacity(0));
+    }
+
+    @Test
+    void fillToCapacity() {
+        for (int capacity : new int[]{8, 100, 1000}) {
+            LruCache<Integer, Integer> cache = new LruCache<>(capacity);
+            for (int i = 0; i < capacity; i++) {
+                cache.put(i, i);
+            }
+            assertEquals(capacity, cache.size());
+            for (int i = 0; i < capacity; i++) {
+                assertEquals(i, cache.get(i), "Evicted before the capacity was reached.");
+            }
+            cache.put(capacity, capacity);
+            assertEquals(capacity, cache.size());
+        }
+    }
+
+    @Test
+    void cachingCompilerMatchesCompiler() {
+        NanoMessageCompiler plain = new NanoMessageCompiler();
+        CachingNanoMessageCompiler cached = new CachingNanoMessageCompiler(8);
+        String[] inputs = {"{a : b : c}", "{ a ? b : c }", "<a :b></a>", "{ a.b.c }", "plain text"};
+        for (int i = 0; i < 2; i++) {
+            for (String input : inputs) {
+                assertEquals(plain.compile(input), cached.compile(input), input);
+            }
+        }
+        assertEquals(inputs.length, cached.misses());
+        assertEquals(inputs.length, cached.hits());
+    }
+}
@@ -0,0 +1,60 @@
+package de.cubbossa.tinytranslations.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistentHashMapTest {
+
+    @Test
+    void plusAndMinusKeepOriginal() {
+        PersistentHashMap<String, String> a = PersistentHashMap.<String, String>empty().plus("a", "A");
+        PersistentHashMap<String, String> b = a.plus("b", "B");
+        assertEquals(Map.of("a", "A"), a);
+        assertEquals(Map.of("a", "A", "b", "B"), b);
+        assertEquals(Map.of("b", "B"), b.minus("a"));
+        assertSame(b, b.minus("x"));
+        assertSame(b, b.plus("a", "A"));
+        assertThrows(UnsupportedOperationException.class, () -> b.put("c", "C"));
+    }
+
+    @Test
+    void collidingHashes() {
+        // "Aa" and "BB" have the same hash code
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty()
+                .plus("Aa", 1)
+                .plus("BB", 2)
+                .plus("C", 3);
+        assertEquals(3, map.size());
+        assertEquals(1, map.get("Aa"));
+        assertEquals(2, map.get("BB"));
+        assertEquals(Map.of("BB", 2, "C", 3), map.minus("Aa"));
+        assertEquals(Map.of("Aa", 4, "BB", 2, "C", 3), map.plus("Aa", 4));
+    }
+
+    @Test
+    void behavesLikeHashMap() {
+        Random random = new Random(42);
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 20_000; i++) {
+            // wide keys cover all levels of the trie, the small range forces removals of existing keys
+            int key = random.nextBoolean() ? random.nextInt() : random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.minus(key);
+            } else {
+                expected.put(key, i);
+                map = map.plus(key, i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertEquals(map, PersistentHashMap.copyOf(expected));
+    }
+}